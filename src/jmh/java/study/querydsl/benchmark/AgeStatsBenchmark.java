@@ -0,0 +1,79 @@
+package study.querydsl.benchmark;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.context.ConfigurableApplicationContext;
+import study.querydsl.dto.AgeStatsDto;
+import study.querydsl.repository.MemberRepository;
+import study.querydsl.repository.support.MemberAgeSnapshot;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Created by IntelliJ IDEA.
+ * User: june
+ * Date: 2026-10-17
+ * Time: 23:59
+ **/
+// 나이 집계: DB group by (snapshot=false) vs 메모리 컬럼 스냅샷 (snapshot=true)
+// 같은 리포지토리 메소드를 member.age-snapshot.enabled 로 전환해서 비교한다.
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.AverageTime, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+public class AgeStatsBenchmark {
+
+    @Param({"10000", "100000"})
+    int seedSize;
+
+    @Param({"10"})
+    int teamCount;
+
+    @Param({"false", "true"})
+    boolean snapshot;
+
+    private ConfigurableApplicationContext context;
+    private MemberRepository memberRepository;
+
+    @Setup(Level.Trial)
+    public void setUp() throws InterruptedException {
+        context = BenchmarkApplication.start("--member.age-snapshot.enabled=" + snapshot);
+        BenchmarkApplication.seed(context, seedSize, teamCount);
+        memberRepository = context.getBean(MemberRepository.class);
+
+        // 기동 직후 비동기 로딩이 끝날때까지 대기 (seed 는 로딩 이후 이벤트로 반영된다)
+        MemberAgeSnapshot ageSnapshot = context.getBean(MemberAgeSnapshot.class);
+        while (snapshot && !ageSnapshot.isReady()) {
+            Thread.sleep(10);
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public AgeStatsDto total() {
+        return memberRepository.ageStats();
+    }
+
+    @Benchmark
+    public List<AgeStatsDto> byTeamName() {
+        return memberRepository.ageStatsByTeam();
+    }
+}
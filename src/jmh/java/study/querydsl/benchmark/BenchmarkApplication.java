@@ -0,0 +1,80 @@
+package study.querydsl.benchmark;
+
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import study.querydsl.QuerydslApplication;
+import study.querydsl.entity.Member;
+import study.querydsl.entity.Team;
+
+import javax.persistence.EntityManager;
+import javax.persistence.EntityManagerFactory;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Created by IntelliJ IDEA.
+ * User: june
+ * Date: 2026-10-17
+ * Time: 15:02
+ **/
+// 벤치마크용 스프링 컨텍스트
+// 인메모리 H2 를 사용하고, local 프로파일(InitMember)과 SQL 로그는 끈다.
+public final class BenchmarkApplication {
+
+    private static final int CHUNK_SIZE = 1000;
+
+    private BenchmarkApplication() {
+    }
+
+    public static ConfigurableApplicationContext start(String... extraArgs) {
+        List<String> args = new ArrayList<>(Arrays.asList(
+                "--spring.profiles.active=bench",
+                "--spring.datasource.url=jdbc:h2:mem:bench;DB_CLOSE_DELAY=-1",
+                "--spring.jpa.properties.hibernate.format_sql=false",
+                "--spring.jpa.properties.hibernate.use_sql_comments=false",
+                "--decorator.datasource.p6spy.enable-logging=false",
+                "--logging.level.org.hibernate.SQL=warn",
+                // 결과 캐시를 끄고 DB 조회 전략 자체를 측정
+                "--member.search-cache.maximum-size=0",
+                "--member.count-cache.maximum-size=0"
+        ));
+        args.addAll(Arrays.asList(extraArgs));
+        return new SpringApplicationBuilder(QuerydslApplication.class)
+                .web(WebApplicationType.NONE)
+                .run(args.toArray(new String[0]));
+    }
+
+    /**
+     * member0 ~ member{seedSize-1} 을 teamCount 개의 팀에 나눠서 저장한다.
+     * 나이는 0 ~ 99
+     */
+    public static void seed(ConfigurableApplicationContext context, int seedSize, int teamCount) {
+        EntityManagerFactory emf = context.getBean(EntityManagerFactory.class);
+        EntityManager em = emf.createEntityManager();
+        try {
+            em.getTransaction().begin();
+
+            List<Long> teamIds = new ArrayList<>();
+            for (int i = 0; i < teamCount; i++) {
+                Team team = new Team("team" + i);
+                em.persist(team);
+                teamIds.add(team.getId());
+            }
+
+            for (int i = 0; i < seedSize; i++) {
+                if (i > 0 && i % CHUNK_SIZE == 0) {
+                    em.flush();
+                    em.clear();
+                }
+                Team team = em.getReference(Team.class, teamIds.get(i % teamCount));
+                em.persist(new Member("member" + i, i % 100, team));
+            }
+
+            em.getTransaction().commit();
+        } finally {
+            em.close();
+        }
+    }
+}
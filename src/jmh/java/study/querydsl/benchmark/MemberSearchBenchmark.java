@@ -0,0 +1,132 @@
+package study.querydsl.benchmark;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import study.querydsl.dto.MemberSearchCondition;
+import study.querydsl.dto.MemberTeamDto;
+import study.querydsl.entity.Member;
+import study.querydsl.repository.MemberJpaRepository;
+import study.querydsl.repository.MemberRepository;
+import study.querydsl.repository.support.CountMode;
+import study.querydsl.repository.support.MemberTestRepository;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Created by IntelliJ IDEA.
+ * User: june
+ * Date: 2026-10-17
+ * Time: 15:10
+ **/
+// 동일한 회원 검색의 구현 방식별 비교
+// Throughput + SampleTime(p50/p99 등 백분위), 할당량은 -prof gc 로 확인
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+public class MemberSearchBenchmark {
+
+    @Param({"10000"})
+    int seedSize;
+
+    @Param({"10"})
+    int teamCount;
+
+    // 페이징 쿼리의 페이지 번호 (깊은 페이지 비교용)
+    @Param({"0", "100"})
+    int page;
+
+    @Param({"20"})
+    int pageSize;
+
+    private ConfigurableApplicationContext context;
+    private MemberJpaRepository memberJpaRepository;
+    private MemberRepository memberRepository;
+    private MemberTestRepository memberTestRepository;
+
+    private MemberSearchCondition condition;
+    private PageRequest pageRequest;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = BenchmarkApplication.start();
+        BenchmarkApplication.seed(context, seedSize, teamCount);
+
+        memberJpaRepository = context.getBean(MemberJpaRepository.class);
+        memberRepository = context.getBean(MemberRepository.class);
+        memberTestRepository = context.getBean(MemberTestRepository.class);
+
+        condition = new MemberSearchCondition();
+        condition.setTeamName("team1");
+        condition.setAgeGoe(10);
+        condition.setAgeLoe(90);
+        pageRequest = PageRequest.of(page, pageSize);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public List<MemberTeamDto> searchByBuilder() {
+        return memberJpaRepository.searchByBuilder(condition);
+    }
+
+    @Benchmark
+    public List<MemberTeamDto> searchWhereParameter() {
+        return memberJpaRepository.search(condition);
+    }
+
+    @Benchmark
+    public Page<MemberTeamDto> searchPageSimple() {
+        return memberRepository.searchPageSimple(condition, pageRequest);
+    }
+
+    @Benchmark
+    public Page<MemberTeamDto> searchPageComplex() {
+        return memberRepository.searchPageComplex(condition, pageRequest);
+    }
+
+    @Benchmark
+    public Page<MemberTeamDto> searchPageComplexParallel() {
+        return memberRepository.searchPageComplexParallel(condition, pageRequest);
+    }
+
+    @Benchmark
+    public Page<MemberTeamDto> searchPageComplexOptimization() {
+        return memberRepository.searchPageComplexOptimization(condition, pageRequest);
+    }
+
+    @Benchmark
+    public Page<MemberTeamDto> searchPageIdFirst() {
+        return memberRepository.searchPageIdFirst(condition, pageRequest, CountMode.EXACT);
+    }
+
+    @Benchmark
+    public Page<Member> applyPagination() {
+        return memberTestRepository.applyPagination2(condition, pageRequest);
+    }
+
+    @Benchmark
+    public Page<Member> applyPaginationParallel() {
+        return memberTestRepository.applyPaginationParallel(condition, pageRequest);
+    }
+}
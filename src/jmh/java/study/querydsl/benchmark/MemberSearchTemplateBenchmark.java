@@ -0,0 +1,136 @@
+package study.querydsl.benchmark;
+
+import com.querydsl.core.types.dsl.BooleanExpression;
+import com.querydsl.jpa.impl.JPAQuery;
+import com.querydsl.jpa.impl.JPAQueryFactory;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.util.StringUtils;
+import study.querydsl.dto.MemberSearchCondition;
+import study.querydsl.dto.MemberTeamDto;
+import study.querydsl.dto.QMemberTeamDto;
+import study.querydsl.repository.support.MemberSearchTemplates;
+
+import javax.persistence.EntityManager;
+import javax.persistence.EntityManagerFactory;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static study.querydsl.entity.QMember.member;
+import static study.querydsl.entity.QTeam.team;
+
+/**
+ * Created by IntelliJ IDEA.
+ * User: june
+ * Date: 2026-10-17
+ * Time: 17:20
+ **/
+// Querydsl 동적쿼리 vs 미리 만든 JPQL 템플릿(MemberSearchTemplates)
+// 16가지 조건 조합을 돌아가면서 호출, 결과가 적은 조건이라 쿼리 생성 비용(CPU)이 차이의 대부분이다.
+// 리포지토리의 검색 캐시/트랜잭션을 거치지 않도록 같은 EntityManager 로 쿼리만 실행한다. (MemberRepositoryImpl.search 와 같은 쿼리)
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+public class MemberSearchTemplateBenchmark {
+
+    @Param({"1000"})
+    int seedSize;
+
+    private ConfigurableApplicationContext context;
+    private EntityManager em;
+    private JPAQueryFactory queryFactory;
+
+    private final MemberSearchCondition[] conditions = new MemberSearchCondition[16];
+    private int next;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = BenchmarkApplication.start();
+        BenchmarkApplication.seed(context, seedSize, 10);
+        em = context.getBean(EntityManagerFactory.class).createEntityManager();
+        queryFactory = new JPAQueryFactory(em);
+
+        for (int mask = 0; mask < conditions.length; mask++) {
+            MemberSearchCondition condition = new MemberSearchCondition();
+            // 조건이 없는 경우에도 결과가 너무 많지 않도록 나이 조건은 좁게
+            condition.setUsername((mask & 1) != 0 ? "member1" : null);
+            condition.setTeamName((mask & 2) != 0 ? "team1" : null);
+            condition.setAgeGoe((mask & 4) != 0 ? 1 : null);
+            condition.setAgeLoe((mask & 8) != 0 ? 1 : null);
+            conditions[mask] = condition;
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        em.close();
+        context.close();
+    }
+
+    @Benchmark
+    public List<MemberTeamDto> querydsl() {
+        MemberSearchCondition condition = nextCondition();
+        JPAQuery<MemberTeamDto> query = queryFactory
+                .select(new QMemberTeamDto(member.id.as("memberId"),
+                        member.username,
+                        member.age,
+                        team.id.as("teamId"),
+                        team.name))
+                .from(member);
+        // 팀명 조건이 있으면 inner join (MemberRepositoryImpl.joinTeam)
+        if (StringUtils.isEmpty(condition.getTeamName())) {
+            query.leftJoin(member.team, team);
+        } else {
+            query.join(member.team, team);
+        }
+        return query
+                .where(
+                        usernameEq(condition.getUsername()),
+                        teamNameEq(condition.getTeamName()),
+                        ageGoe(condition.getAgeGoe()),
+                        ageLoe(condition.getAgeLoe())
+                )
+                .fetch();
+    }
+
+    @Benchmark
+    public List<MemberTeamDto> template() {
+        return MemberSearchTemplates.search(em, nextCondition());
+    }
+
+    private MemberSearchCondition nextCondition() {
+        next = (next + 1) & 15;
+        return conditions[next];
+    }
+
+    private BooleanExpression usernameEq(String username) {
+        return StringUtils.isEmpty(username) ? null : member.username.eq(username);
+    }
+
+    private BooleanExpression teamNameEq(String teamName) {
+        return StringUtils.isEmpty(teamName) ? null : team.name.eq(teamName);
+    }
+
+    private BooleanExpression ageGoe(Integer ageGoe) {
+        return ageGoe == null ? null : member.age.goe(ageGoe);
+    }
+
+    private BooleanExpression ageLoe(Integer ageLoe) {
+        return ageLoe == null ? null : member.age.loe(ageLoe);
+    }
+}
@@ -0,0 +1,227 @@
+package study.querydsl.loadtest;
+
+import org.HdrHistogram.Histogram;
+import org.HdrHistogram.Recorder;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+import study.querydsl.QuerydslApplication;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.HttpURLConnection;
+import java.net.URL;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Created by IntelliJ IDEA.
+ * User: june
+ * Date: 2026-10-17
+ * Time: 21:40
+ **/
+// 회원 검색 API 부하 테스트
+// 인메모리 H2 로 애플리케이션을 띄우고(InitMember 로 데이터 생성) threads 개의 클라이언트가 쉬지 않고 요청한다. (closed model)
+// warmup 이후 duration 동안 엔드포인트별 처리량과 p50/p99/p999 지연시간을 출력한다.
+//
+// 실행: ./gradlew loadTest -PloadTestArgs="--members=100000 --threads=32 --duration=60 --mix=V1:1,V3:2,V4:4,V6:2"
+// --base-url 을 주면 애플리케이션을 띄우지 않고 해당 서버로 요청한다.
+// --compare=V1,V6 이면 mix 대신 엔드포인트 하나씩 차례로 같은 부하를 줘서 결과를 비교한다.
+// 그 외의 --key=value 인자는 애플리케이션 설정으로 전달된다. (예: --member.search-cache.maximum-size=0)
+public final class MemberLoadTest {
+
+    private static final long MAX_LATENCY_NANOS = TimeUnit.SECONDS.toNanos(60);
+
+    private MemberLoadTest() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        Map<String, String> options = new HashMap<>();
+        List<String> appArgs = new ArrayList<>();
+        List<String> harnessOptions = Arrays.asList(
+                "members", "teams", "threads", "duration", "warmup", "mix", "compare", "max-page", "page-size", "base-url");
+        for (String arg : args) {
+            String[] keyValue = arg.replaceFirst("^--", "").split("=", 2);
+            if (harnessOptions.contains(keyValue[0])) {
+                options.put(keyValue[0], keyValue.length > 1 ? keyValue[1] : "");
+            } else {
+                appArgs.add(arg);
+            }
+        }
+
+        int members = Integer.parseInt(options.getOrDefault("members", "100000"));
+        int teams = Integer.parseInt(options.getOrDefault("teams", "10"));
+        int threads = Integer.parseInt(options.getOrDefault("threads", "16"));
+        int duration = Integer.parseInt(options.getOrDefault("duration", "30"));
+        int warmup = Integer.parseInt(options.getOrDefault("warmup", "10"));
+        int maxPage = Integer.parseInt(options.getOrDefault("max-page", "50"));
+        int pageSize = Integer.parseInt(options.getOrDefault("page-size", "20"));
+        List<String> mixes = options.containsKey("compare")
+                ? Arrays.asList(options.get("compare").split(","))
+                : Collections.singletonList(options.getOrDefault("mix", "V1:1,V2:1,V3:1,V4:1,V4_SLICE:1,V5:1,V6:1"));
+
+        ConfigurableApplicationContext context = null;
+        String baseUrl = options.get("base-url");
+        if (baseUrl == null) {
+            context = start(members, teams, appArgs);
+            int port = ((WebServerApplicationContext) context).getWebServer().getPort();
+            baseUrl = "http://localhost:" + port;
+        }
+
+        try {
+            for (String mix : mixes) {
+                System.out.printf("%n=== %s (threads=%d) ===", mix.trim(), threads);
+                MemberWorkload workload = new MemberWorkload(mix, members, teams, maxPage, pageSize);
+                new Run(baseUrl, workload, threads).execute(warmup, duration);
+            }
+        } finally {
+            if (context != null) {
+                context.close();
+            }
+        }
+    }
+
+    private static ConfigurableApplicationContext start(int members, int teams, List<String> appArgs) {
+        List<String> args = new ArrayList<>(Arrays.asList(
+                "--spring.profiles.active=local",
+                "--spring.datasource.url=jdbc:h2:mem:loadtest;DB_CLOSE_DELAY=-1",
+                "--server.port=0",
+                "--init-member.member-count=" + members,
+                "--init-member.team-count=" + teams,
+                "--init-member.threads=" + Runtime.getRuntime().availableProcessors(),
+                "--spring.jpa.properties.hibernate.format_sql=false",
+                "--spring.jpa.properties.hibernate.use_sql_comments=false",
+                "--decorator.datasource.p6spy.enable-logging=false",
+                "--logging.level.org.hibernate.SQL=warn"
+        ));
+        // 뒤에 오는 인자가 우선
+        args.addAll(appArgs);
+        return new SpringApplicationBuilder(QuerydslApplication.class).run(args.toArray(new String[0]));
+    }
+
+    private static final class Run {
+
+        private final String baseUrl;
+        private final MemberWorkload workload;
+        private final int threads;
+        private final Map<MemberWorkload.Endpoint, Recorder> recorders = new EnumMap<>(MemberWorkload.Endpoint.class);
+        private final Map<MemberWorkload.Endpoint, AtomicLong> errors = new EnumMap<>(MemberWorkload.Endpoint.class);
+
+        Run(String baseUrl, MemberWorkload workload, int threads) {
+            this.baseUrl = baseUrl;
+            this.workload = workload;
+            this.threads = threads;
+            for (MemberWorkload.Endpoint endpoint : MemberWorkload.Endpoint.values()) {
+                recorders.put(endpoint, new Recorder(MAX_LATENCY_NANOS, 3));
+                errors.put(endpoint, new AtomicLong());
+            }
+        }
+
+        void execute(int warmupSeconds, int durationSeconds) throws InterruptedException {
+            long warmupEnd = System.nanoTime() + TimeUnit.SECONDS.toNanos(warmupSeconds);
+            long end = warmupEnd + TimeUnit.SECONDS.toNanos(durationSeconds);
+
+            ExecutorService executor = Executors.newFixedThreadPool(threads);
+            for (int i = 0; i < threads; i++) {
+                long seed = i;
+                executor.execute(() -> drive(new Random(seed), end));
+            }
+
+            TimeUnit.NANOSECONDS.sleep(Math.max(0, warmupEnd - System.nanoTime()));
+            // warmup 동안의 기록은 버린다.
+            Map<MemberWorkload.Endpoint, Long> warmupErrors = new EnumMap<>(MemberWorkload.Endpoint.class);
+            recorders.values().forEach(Recorder::reset);
+            errors.forEach((endpoint, count) -> warmupErrors.put(endpoint, count.get()));
+
+            executor.shutdown();
+            executor.awaitTermination(durationSeconds + MAX_LATENCY_NANOS / 1_000_000_000L, TimeUnit.SECONDS);
+            report(durationSeconds, warmupErrors);
+        }
+
+        private void drive(Random random, long end) {
+            while (System.nanoTime() < end) {
+                MemberWorkload.Endpoint endpoint = workload.nextEndpoint(random);
+                String path = workload.nextQuery(endpoint, random);
+                long start = System.nanoTime();
+                boolean ok = get(path);
+                long elapsed = System.nanoTime() - start;
+                if (ok) {
+                    recorders.get(endpoint).recordValue(Math.min(elapsed, MAX_LATENCY_NANOS));
+                } else {
+                    errors.get(endpoint).incrementAndGet();
+                }
+            }
+        }
+
+        // 응답 본문까지 모두 읽어야 직렬화/전송 시간이 포함된다.
+        // 본문을 끝까지 읽고 disconnect 하지 않아야 keep-alive 커넥션이 재사용된다.
+        private boolean get(String path) {
+            try {
+                HttpURLConnection connection = (HttpURLConnection) new URL(baseUrl + path).openConnection();
+                connection.setConnectTimeout(5_000);
+                connection.setReadTimeout((int) TimeUnit.NANOSECONDS.toMillis(MAX_LATENCY_NANOS));
+                int status = connection.getResponseCode();
+                InputStream body = status < 400 ? connection.getInputStream() : connection.getErrorStream();
+                if (body != null) {
+                    drain(body);
+                }
+                return status < 400;
+            } catch (IOException e) {
+                return false;
+            }
+        }
+
+        private void drain(InputStream body) throws IOException {
+            byte[] chunk = new byte[8192];
+            try (InputStream in = body) {
+                while (in.read(chunk) != -1) {
+                    // 본문은 버린다.
+                }
+            }
+        }
+
+        private void report(int durationSeconds, Map<MemberWorkload.Endpoint, Long> warmupErrors) {
+            System.out.printf("%n%-10s %10s %8s %10s %10s %10s %10s %10s%n",
+                    "endpoint", "requests", "errors", "req/s", "p50(ms)", "p99(ms)", "p999(ms)", "max(ms)");
+            Histogram total = new Histogram(MAX_LATENCY_NANOS, 3);
+            long totalErrors = 0;
+            for (MemberWorkload.Endpoint endpoint : MemberWorkload.Endpoint.values()) {
+                Histogram histogram = recorders.get(endpoint).getIntervalHistogram();
+                long errorCount = errors.get(endpoint).get() - warmupErrors.get(endpoint);
+                if (histogram.getTotalCount() == 0 && errorCount == 0) {
+                    continue;
+                }
+                total.add(histogram);
+                totalErrors += errorCount;
+                print(endpoint.name(), histogram, errorCount, durationSeconds);
+            }
+            print("TOTAL", total, totalErrors, durationSeconds);
+        }
+
+        private void print(String name, Histogram histogram, long errorCount, int durationSeconds) {
+            System.out.printf("%-10s %10d %8d %10.1f %10.2f %10.2f %10.2f %10.2f%n",
+                    name,
+                    histogram.getTotalCount(),
+                    errorCount,
+                    histogram.getTotalCount() / (double) durationSeconds,
+                    millis(histogram.getValueAtPercentile(50)),
+                    millis(histogram.getValueAtPercentile(99)),
+                    millis(histogram.getValueAtPercentile(99.9)),
+                    millis(histogram.getMaxValue()));
+        }
+
+        private double millis(long nanos) {
+            return nanos / 1_000_000.0;
+        }
+    }
+}
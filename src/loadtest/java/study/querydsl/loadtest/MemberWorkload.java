@@ -0,0 +1,112 @@
+package study.querydsl.loadtest;
+
+import java.io.UnsupportedEncodingException;
+import java.net.URLEncoder;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Created by IntelliJ IDEA.
+ * User: june
+ * Date: 2026-10-17
+ * Time: 21:30
+ **/
+// 엔드포인트별 가중치에 따라 요청 URL 을 만든다.
+// 검색조건/페이지는 InitMember 데이터(member0.., teamA.., 나이 0~99) 기준으로 무작위로 섞는다.
+final class MemberWorkload {
+
+    enum Endpoint {
+        V1("/v1/members", false),
+        V2("/v2/members", true),
+        V3("/v3/members", true),
+        V4("/v4/members", true),
+        V4_SLICE("/v4/members/slice", true),
+        V5("/v5/members", false),
+        V6("/v6/members", false);
+
+        private final String path;
+        private final boolean pageable;
+
+        Endpoint(String path, boolean pageable) {
+            this.path = path;
+            this.pageable = pageable;
+        }
+
+        String getPath() {
+            return path;
+        }
+    }
+
+    private final List<Endpoint> weighted = new ArrayList<>();
+    private final int memberCount;
+    private final int teamCount;
+    private final int maxPage;
+    private final int pageSize;
+
+    /**
+     * @param mix 엔드포인트별 가중치 (예: V1:1,V2:1,V3:2,V4:4)
+     */
+    MemberWorkload(String mix, int memberCount, int teamCount, int maxPage, int pageSize) {
+        for (String entry : mix.split(",")) {
+            String[] nameAndWeight = entry.trim().split(":");
+            Endpoint endpoint = Endpoint.valueOf(nameAndWeight[0].trim().toUpperCase());
+            int weight = nameAndWeight.length > 1 ? Integer.parseInt(nameAndWeight[1].trim()) : 1;
+            for (int i = 0; i < weight; i++) {
+                weighted.add(endpoint);
+            }
+        }
+        if (weighted.isEmpty()) {
+            throw new IllegalArgumentException("Workload mix must not be empty!");
+        }
+        this.memberCount = memberCount;
+        this.teamCount = teamCount;
+        this.maxPage = maxPage;
+        this.pageSize = pageSize;
+    }
+
+    Endpoint nextEndpoint(Random random) {
+        return weighted.get(random.nextInt(weighted.size()));
+    }
+
+    String nextQuery(Endpoint endpoint, Random random) {
+        StringBuilder query = new StringBuilder();
+        if (random.nextInt(5) == 0) {
+            append(query, "username", "member" + random.nextInt(memberCount));
+        }
+        if (random.nextInt(3) == 0) {
+            append(query, "teamName", teamName(random.nextInt(teamCount)));
+        }
+        if (random.nextInt(3) == 0) {
+            int ageGoe = random.nextInt(100);
+            append(query, "ageGoe", String.valueOf(ageGoe));
+            if (random.nextBoolean()) {
+                append(query, "ageLoe", String.valueOf(ageGoe + random.nextInt(10)));
+            }
+        }
+        if (endpoint.pageable) {
+            append(query, "page", String.valueOf(random.nextInt(maxPage)));
+            append(query, "size", String.valueOf(pageSize));
+        } else if (endpoint == Endpoint.V5) {
+            append(query, "size", String.valueOf(pageSize));
+        }
+        return endpoint.getPath() + (query.length() == 0 ? "" : "?" + query);
+    }
+
+    // InitMember 와 같은 규칙
+    private static String teamName(int index) {
+        return index < 26 ? "team" + (char) ('A' + index) : "team" + index;
+    }
+
+    private static void append(StringBuilder query, String name, String value) {
+        if (query.length() > 0) {
+            query.append('&');
+        }
+        try {
+            query.append(name).append('=').append(URLEncoder.encode(value, StandardCharsets.UTF_8.name()));
+        } catch (UnsupportedEncodingException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
@@ -1,15 +1,25 @@
 package study.querydsl;
 
 import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Profile;
 import org.springframework.stereotype.Component;
-import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.util.Assert;
 import study.querydsl.entity.Member;
 import study.querydsl.entity.Team;
 
 import javax.annotation.PostConstruct;
 import javax.persistence.EntityManager;
 import javax.persistence.PersistenceContext;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 
 /**
  * Created by IntelliJ IDEA.
@@ -32,22 +42,112 @@ public class InitMember {
     // 바로 PostConstruct에 넣는 않는 이유
     // Spring lifeCycle 이 존재해서 PostConstruct에서 @Transactional을 사용할 경우
     // AOP 트랜잭션 처리를 보장할 수 없음.
+    // -> TransactionTemplate 으로 청크 단위 트랜잭션을 직접 관리한다.
+    @Slf4j
     @Component
     static class InitMemberService {
         @PersistenceContext
         private EntityManager em;
 
-        @Transactional
+        private final TransactionTemplate transactionTemplate;
+        private final int memberCount;
+        private final int teamCount;
+        private final int chunkSize;
+        private final int flushSize;
+        private final int threads;
+
+        InitMemberService(PlatformTransactionManager transactionManager,
+                          @Value("${init-member.member-count:100}") int memberCount,
+                          @Value("${init-member.team-count:2}") int teamCount,
+                          @Value("${init-member.chunk-size:10000}") int chunkSize,
+                          @Value("${init-member.flush-size:1000}") int flushSize,
+                          @Value("${init-member.threads:1}") int threads) {
+            Assert.isTrue(teamCount > 0, "Team count must be greater than zero!");
+            Assert.isTrue(chunkSize > 0, "Chunk size must be greater than zero!");
+            Assert.isTrue(flushSize > 0, "Flush size must be greater than zero!");
+            Assert.isTrue(threads > 0, "Threads must be greater than zero!");
+            this.transactionTemplate = new TransactionTemplate(transactionManager);
+            this.memberCount = memberCount;
+            this.teamCount = teamCount;
+            this.chunkSize = chunkSize;
+            this.flushSize = flushSize;
+            this.threads = threads;
+        }
+
+        /**
+         * 대량 초기 데이터
+         * chunkSize 건마다 별도의 트랜잭션으로 커밋하고, 트랜잭션 안에서는 flushSize 건마다 flush/clear 해서
+         * JDBC 배치(hibernate.jdbc.batch_size)로 insert 하면서 영속성 컨텍스트가 커지지 않게 한다.
+         * threads 가 1보다 크면 청크를 여러 스레드에서 동시에 저장한다.
+         */
         public void init() {
-            Team teamA = new Team("teamA");
-            Team teamB = new Team("teamB");
-            em.persist(teamA);
-            em.persist(teamB);
-
-            for (int i = 0; i< 100; i++) {
-                Team selectedTeam = i % 2 == 0 ? teamA : teamB;
-                em.persist(new Member("member" + i, i, selectedTeam));
+            long start = System.nanoTime();
+
+            List<Long> teamIds = transactionTemplate.execute(status -> persistTeams());
+
+            if (threads == 1) {
+                for (int from = 0; from < memberCount; from += chunkSize) {
+                    persistChunk(teamIds, from, Math.min(from + chunkSize, memberCount));
+                }
+            } else {
+                persistChunksInParallel(teamIds);
+            }
+
+            long elapsedMillis = Math.max(1, (System.nanoTime() - start) / 1_000_000);
+            log.info("InitMember: {} members, {} teams in {} ms ({} rows/sec, threads={})",
+                    memberCount, teamCount, elapsedMillis, memberCount * 1000L / elapsedMillis, threads);
+        }
+
+        private List<Long> persistTeams() {
+            List<Long> teamIds = new ArrayList<>();
+            for (int i = 0; i < teamCount; i++) {
+                Team team = new Team(teamName(i));
+                em.persist(team);
+                teamIds.add(team.getId());
+            }
+            return teamIds;
+        }
+
+        private void persistChunksInParallel(List<Long> teamIds) {
+            ExecutorService executor = Executors.newFixedThreadPool(threads);
+            try {
+                List<Future<?>> futures = new ArrayList<>();
+                for (int from = 0; from < memberCount; from += chunkSize) {
+                    int chunkFrom = from;
+                    int chunkTo = Math.min(from + chunkSize, memberCount);
+                    futures.add(executor.submit(() -> persistChunk(teamIds, chunkFrom, chunkTo)));
+                }
+                for (Future<?> future : futures) {
+                    future.get();
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException("InitMember interrupted", e);
+            } catch (ExecutionException e) {
+                throw new IllegalStateException("InitMember failed", e.getCause());
+            } finally {
+                executor.shutdownNow();
             }
         }
+
+        private void persistChunk(List<Long> teamIds, int from, int to) {
+            transactionTemplate.execute(status -> {
+                for (int i = from; i < to; i++) {
+                    if (i > from && (i - from) % flushSize == 0) {
+                        em.flush();
+                        em.clear();
+                    }
+                    // clear 이후에는 팀도 준영속이 되므로 프록시로 다시 가져온다.
+                    Team selectedTeam = em.getReference(Team.class, teamIds.get(i % teamCount));
+                    em.persist(new Member("member" + i, i % 100, selectedTeam));
+                }
+                return null;
+            });
+        }
+
+        // teamA, teamB ... teamZ, team26 ...
+        private String teamName(int index) {
+            return index < 26 ? "team" + (char) ('A' + index) : "team" + index;
+        }
     }
 }
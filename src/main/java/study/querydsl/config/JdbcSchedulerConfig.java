@@ -0,0 +1,27 @@
+package study.querydsl.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import reactor.core.scheduler.Scheduler;
+import reactor.core.scheduler.Schedulers;
+
+/**
+ * Created by IntelliJ IDEA.
+ * User: june
+ * Date: 2026-10-17
+ * Time: 18:40
+ **/
+@Configuration
+public class JdbcSchedulerConfig {
+
+    /**
+     * 블로킹 JDBC 호출을 서블릿 스레드 대신 실행하는 스케줄러
+     * 스레드 수는 커넥션 풀 크기 정도로 제한하고, 넘치는 작업은 큐에서 기다린다. (큐도 가득차면 거절)
+     */
+    @Bean(destroyMethod = "dispose")
+    public Scheduler jdbcScheduler(@Value("${member.jdbc-scheduler.threads:10}") int threads,
+                                   @Value("${member.jdbc-scheduler.queue-size:10000}") int queueSize) {
+        return Schedulers.newBoundedElastic(threads, queueSize, "jdbc");
+    }
+}
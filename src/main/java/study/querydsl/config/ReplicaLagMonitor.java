@@ -0,0 +1,103 @@
+package study.querydsl.config;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import javax.sql.DataSource;
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Predicate;
+
+/**
+ * Created by IntelliJ IDEA.
+ * User: june
+ * Date: 2026-10-17
+ * Time: 19:20
+ **/
+// 프라이머리에 주기적으로 하트비트 시각을 기록하고, 레플리카에 복제된 하트비트 시각으로 지연을 계산한다.
+// maxLag 보다 뒤쳐진(또는 조회에 실패한) 레플리카는 라우팅에서 제외된다.
+@Slf4j
+public class ReplicaLagMonitor implements Predicate<String> {
+
+    private static final String CREATE_TABLE =
+            "create table if not exists replication_heartbeat (id int primary key, beat_at timestamp not null)";
+    private static final String WRITE_HEARTBEAT =
+            "merge into replication_heartbeat (id, beat_at) key (id) values (1, ?)";
+    private static final String READ_HEARTBEAT =
+            "select beat_at from replication_heartbeat where id = 1";
+
+    private final JdbcTemplate primary;
+    private final Map<String, JdbcTemplate> replicas;
+    private final Duration maxLag;
+    private final Duration interval;
+    private final Map<String, Boolean> healthy = new ConcurrentHashMap<>();
+    private final ScheduledExecutorService scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "replica-lag-monitor");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    public ReplicaLagMonitor(DataSource primary, Map<String, DataSource> replicas, Duration maxLag, Duration interval) {
+        this.primary = new JdbcTemplate(primary);
+        this.replicas = new ConcurrentHashMap<>();
+        replicas.forEach((key, dataSource) -> this.replicas.put(key, new JdbcTemplate(dataSource)));
+        this.maxLag = maxLag;
+        this.interval = interval;
+    }
+
+    public void start() {
+        if (isDisabled()) {
+            return;
+        }
+        primary.execute(CREATE_TABLE);
+        check();
+        scheduler.scheduleWithFixedDelay(this::check, interval.toMillis(), interval.toMillis(), TimeUnit.MILLISECONDS);
+    }
+
+    public void stop() {
+        scheduler.shutdownNow();
+    }
+
+    @Override
+    public boolean test(String replicaKey) {
+        if (isDisabled()) {
+            return true;
+        }
+        return healthy.getOrDefault(replicaKey, false);
+    }
+
+    private boolean isDisabled() {
+        return maxLag.isZero() || replicas.isEmpty();
+    }
+
+    void check() {
+        long now = System.currentTimeMillis();
+        try {
+            primary.update(WRITE_HEARTBEAT, new Timestamp(now));
+        } catch (DataAccessException e) {
+            log.warn("failed to write replication heartbeat: {}", e.getMessage());
+        }
+        replicas.forEach((key, jdbcTemplate) -> healthy.put(key, isHealthy(key, jdbcTemplate, now)));
+    }
+
+    private boolean isHealthy(String key, JdbcTemplate jdbcTemplate, long now) {
+        try {
+            Timestamp beatAt = jdbcTemplate.queryForObject(READ_HEARTBEAT, Timestamp.class);
+            long lagMillis = beatAt == null ? Long.MAX_VALUE : now - beatAt.getTime();
+            if (lagMillis > maxLag.toMillis()) {
+                log.warn("replica {} is lagging {} ms, excluded from routing", key, lagMillis);
+                return false;
+            }
+            return true;
+        } catch (DataAccessException e) {
+            log.warn("replica {} heartbeat check failed, excluded from routing: {}", key, e.getMessage());
+            return false;
+        }
+    }
+}
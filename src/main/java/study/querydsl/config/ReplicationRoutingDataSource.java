@@ -0,0 +1,112 @@
+package study.querydsl.config;
+
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.transaction.support.TransactionSynchronizationAdapter;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Predicate;
+
+/**
+ * Created by IntelliJ IDEA.
+ * User: june
+ * Date: 2026-10-17
+ * Time: 19:15
+ **/
+// readOnly 트랜잭션은 레플리카(라운드로빈), 나머지는 프라이머리로 보낸다.
+// 트랜잭션 readOnly 여부는 커넥션을 얻는 시점에 결정되어 있어야 하므로 LazyConnectionDataSourceProxy 로 감싸서 사용해야 한다.
+// 쓰기 트랜잭션이 커밋된 뒤 primaryAfterCommit 동안은 readOnly 트랜잭션도 프라이머리에서 읽는다.
+// 커밋 직후 MemberDataVersion 이 올라간 상태에서 아직 복제되지 않은 레플리카의 이전 데이터가
+// 새 버전으로 검색/카운트 캐시와 ETag 에 남지 않도록 하기 위함 (이 인스턴스에서 커밋된 쓰기 기준)
+public class ReplicationRoutingDataSource extends AbstractRoutingDataSource {
+
+    static final String PRIMARY = "primary";
+
+    private final DataSource primary;
+    private final Map<String, DataSource> replicas;
+    private final List<String> replicaKeys;
+    private final AtomicInteger sequence = new AtomicInteger();
+    private volatile Predicate<String> replicaHealth = key -> true;
+    private volatile long primaryAfterCommitNanos;
+    // System.nanoTime() 기준, 이 시각 전까지는 프라이머리에서 읽는다.
+    private volatile long primaryUntil = System.nanoTime();
+
+    public ReplicationRoutingDataSource(DataSource primary, List<DataSource> replicas) {
+        Map<String, DataSource> replicaMap = new LinkedHashMap<>();
+        for (int i = 0; i < replicas.size(); i++) {
+            replicaMap.put("replica-" + i, replicas.get(i));
+        }
+        this.primary = primary;
+        this.replicas = Collections.unmodifiableMap(replicaMap);
+        this.replicaKeys = Collections.unmodifiableList(new ArrayList<>(replicaMap.keySet()));
+
+        Map<Object, Object> targets = new HashMap<>(replicaMap);
+        targets.put(PRIMARY, primary);
+        setTargetDataSources(targets);
+        setDefaultTargetDataSource(primary);
+    }
+
+    public DataSource getPrimary() {
+        return primary;
+    }
+
+    public Map<String, DataSource> getReplicas() {
+        return replicas;
+    }
+
+    // 복제 지연 등으로 사용할 수 없는 레플리카를 제외하기 위한 조건
+    public void setReplicaHealth(Predicate<String> replicaHealth) {
+        this.replicaHealth = replicaHealth;
+    }
+
+    /**
+     * 복제 지연 한도(레플리카 제외 기준) + 지연 확인 주기 이상으로 설정해야
+     * 이 시간이 지난 뒤 선택되는 레플리카에는 커밋된 변경이 복제되어 있다.
+     */
+    public void setPrimaryAfterCommit(Duration primaryAfterCommit) {
+        this.primaryAfterCommitNanos = primaryAfterCommit.toNanos();
+    }
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        if (!TransactionSynchronizationManager.isCurrentTransactionReadOnly()) {
+            registerPrimaryAfterCommit();
+            return PRIMARY;
+        }
+        if (replicaKeys.isEmpty() || System.nanoTime() - primaryUntil < 0) {
+            return PRIMARY;
+        }
+        int size = replicaKeys.size();
+        int start = Math.floorMod(sequence.getAndIncrement(), size);
+        for (int i = 0; i < size; i++) {
+            String key = replicaKeys.get((start + i) % size);
+            if (replicaHealth.test(key)) {
+                return key;
+            }
+        }
+        // 사용할 수 있는 레플리카가 없으면 프라이머리
+        return PRIMARY;
+    }
+
+    // 쓰기 트랜잭션이 커밋되면 primaryAfterCommit 동안 프라이머리에서 읽도록 표시
+    private void registerPrimaryAfterCommit() {
+        if (primaryAfterCommitNanos <= 0 || replicaKeys.isEmpty()
+                || !TransactionSynchronizationManager.isSynchronizationActive()) {
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronizationAdapter() {
+            @Override
+            public void afterCommit() {
+                primaryUntil = System.nanoTime() + primaryAfterCommitNanos;
+            }
+        });
+    }
+}
@@ -0,0 +1,104 @@
+package study.querydsl.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.context.properties.bind.Bindable;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.boot.jdbc.DataSourceBuilder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.util.Assert;
+
+import javax.annotation.PreDestroy;
+import javax.sql.DataSource;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Created by IntelliJ IDEA.
+ * User: june
+ * Date: 2026-10-17
+ * Time: 19:25
+ **/
+// member.datasource.routing.enabled=true 일 때만 spring.datasource 대신 프라이머리/레플리카 라우팅 데이터소스를 사용한다.
+@Slf4j
+@Configuration
+@ConditionalOnProperty(name = "member.datasource.routing.enabled", havingValue = "true")
+@EnableConfigurationProperties(RoutingDataSourceProperties.class)
+public class RoutingDataSourceConfig {
+
+    private ReplicaLagMonitor replicaLagMonitor;
+    // 빈이 아니므로 직접 닫는다.
+    private final List<HikariDataSource> pools = new ArrayList<>();
+
+    /**
+     * 라우팅 데이터소스와 개별 풀은 빈으로 등록하지 않는다. (DataSource 빈이 여러개면 p6spy 등이 각각 감싸게 된다)
+     * 트랜잭션 시작 시점이 아니라 첫 쿼리 시점에 커넥션을 가져와야 readOnly 여부로 라우팅 할 수 있으므로
+     * LazyConnectionDataSourceProxy 로 감싼다.
+     * max-replica-lag 가 0 이면 지연 확인 없이 모든 레플리카를 사용한다.
+     * 커밋 후 max-replica-lag + lag-check-interval 동안은 프라이머리에서 읽는다. (캐시에 이전 데이터가 남지 않도록)
+     * 개별 풀에도 spring.datasource.hikari 설정을 적용한다. (auto-commit, connection-timeout, leak-detection-threshold 등)
+     */
+    @Bean
+    public DataSource dataSource(RoutingDataSourceProperties properties, ObjectProvider<MeterRegistry> meterRegistry,
+                                 Environment environment) {
+        Assert.hasText(properties.getPrimary().getUrl(), "member.datasource.primary.url must not be empty!");
+        Binder binder = Binder.get(environment);
+        List<DataSource> replicas = new ArrayList<>();
+        for (RoutingDataSourceProperties.Node replica : properties.getReplicas()) {
+            replicas.add(createDataSource(replica, "replica-" + replicas.size(), binder, meterRegistry));
+        }
+        ReplicationRoutingDataSource routingDataSource = new ReplicationRoutingDataSource(
+                createDataSource(properties.getPrimary(), "primary", binder, meterRegistry), replicas);
+
+        RoutingDataSourceProperties.Routing routing = properties.getRouting();
+        replicaLagMonitor = new ReplicaLagMonitor(routingDataSource.getPrimary(), routingDataSource.getReplicas(),
+                routing.getMaxReplicaLag(), routing.getLagCheckInterval());
+        routingDataSource.setReplicaHealth(replicaLagMonitor);
+        if (routing.getMaxReplicaLag().isZero()) {
+            log.warn("Replica lag check is disabled, cached search results may be stale after writes");
+        } else {
+            routingDataSource.setPrimaryAfterCommit(routing.getMaxReplicaLag().plus(routing.getLagCheckInterval()));
+        }
+        routingDataSource.afterPropertiesSet();
+        replicaLagMonitor.start();
+
+        return new LazyConnectionDataSourceProxy(routingDataSource);
+    }
+
+    // dataSource 를 사용하는 빈(EntityManagerFactory 등)이 먼저 정리된 뒤에 호출된다.
+    @PreDestroy
+    public void close() {
+        if (replicaLagMonitor != null) {
+            replicaLagMonitor.stop();
+        }
+        pools.forEach(HikariDataSource::close);
+    }
+
+    private DataSource createDataSource(RoutingDataSourceProperties.Node node, String poolName, Binder binder,
+                                        ObjectProvider<MeterRegistry> meterRegistry) {
+        HikariDataSource dataSource = DataSourceBuilder.create()
+                .type(HikariDataSource.class)
+                .driverClassName(node.getDriverClassName())
+                .url(node.getUrl())
+                .username(node.getUsername())
+                .password(node.getPassword())
+                .build();
+        // prod 의 auto-commit: false 는 hibernate.connection.provider_disables_autocommit 과 같이 사용하므로
+        // 기본 풀과 같은 설정이 모든 노드에 적용되어야 한다. (아니면 쿼리마다 커밋되고 롤백이 되지 않는다)
+        // 풀 이름, 최대 크기는 노드 설정을 따른다.
+        binder.bind("spring.datasource.hikari", Bindable.ofInstance(dataSource));
+        dataSource.setPoolName(poolName);
+        dataSource.setMaximumPoolSize(node.getMaximumPoolSize());
+        // 빈으로 등록하지 않은 풀이라 자동으로 메트릭이 등록되지 않으므로 직접 연결 (hikaricp.connections.*{pool})
+        meterRegistry.ifAvailable(dataSource::setMetricRegistry);
+        pools.add(dataSource);
+        return dataSource;
+    }
+}
@@ -0,0 +1,41 @@
+package study.querydsl.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Created by IntelliJ IDEA.
+ * User: june
+ * Date: 2026-10-17
+ * Time: 19:10
+ **/
+@Data
+@ConfigurationProperties(prefix = "member.datasource")
+public class RoutingDataSourceProperties {
+
+    private Routing routing = new Routing();
+    private Node primary = new Node();
+    private List<Node> replicas = new ArrayList<>();
+
+    @Data
+    public static class Routing {
+        private boolean enabled;
+        // 이 이상 지연된 레플리카는 제외, 0 이면 지연 확인 안함
+        // (확인하지 않으면 커밋 직후 레플리카의 이전 데이터가 캐시될 수 있다. ReplicationRoutingDataSource 참고)
+        private Duration maxReplicaLag = Duration.ofSeconds(2);
+        private Duration lagCheckInterval = Duration.ofSeconds(1);
+    }
+
+    @Data
+    public static class Node {
+        private String url;
+        private String username;
+        private String password;
+        private String driverClassName = "org.h2.Driver";
+        private int maximumPoolSize = 10;
+    }
+}
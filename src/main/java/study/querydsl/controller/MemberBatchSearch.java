@@ -0,0 +1,137 @@
+package study.querydsl.controller;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Component;
+import org.springframework.web.server.ResponseStatusException;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Scheduler;
+import reactor.util.function.Tuple2;
+import reactor.util.function.Tuples;
+import study.querydsl.dto.BatchSearchResult;
+import study.querydsl.dto.MemberSearchCondition;
+import study.querydsl.dto.MemberTeamDto;
+import study.querydsl.repository.MemberRepository;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Created by IntelliJ IDEA.
+ * User: june
+ * Date: 2026-10-17
+ * Time: 23:59
+ **/
+// 여러 검색조건을 한번에 실행 (MemberReactiveController)
+// - 같은 조건(정규화 기준)은 한번만 조회해서 결과를 공유한다.
+// - 서로 다른 조건은 jdbcScheduler 에서 최대 parallelism 개씩 동시에 조회한다.
+//   스케줄러는 다른 검색 API 와 공유하므로 한 요청이 커넥션 풀을 독차지하지 않도록 제한한다.
+// - 조건마다 timeout 을 넘기면 해당 조건만 TIMEOUT 으로 응답한다.
+//   쿼리는 인터럽트하지 않고 끝까지 실행하며(JDBC 인터럽트는 커넥션을 망가뜨릴 수 있다), 끝날때까지 실행 슬롯을 차지한다.
+//   subscribeOn + timeout 은 취소시 워커를 인터럽트하고 flatMap 슬롯도 바로 반납하므로 사용하지 않는다.
+@Slf4j
+@Component
+class MemberBatchSearch {
+
+    private final MemberRepository memberRepository;
+    private final Scheduler jdbcScheduler;
+    private final int parallelism;
+    private final int maxConditions;
+    private final long maxTimeoutMillis;
+
+    MemberBatchSearch(MemberRepository memberRepository, Scheduler jdbcScheduler,
+                      @Value("${member.batch-search.parallelism:4}") int parallelism,
+                      @Value("${member.batch-search.max-conditions:100}") int maxConditions,
+                      @Value("${member.batch-search.max-timeout-millis:10000}") long maxTimeoutMillis) {
+        this.memberRepository = memberRepository;
+        this.jdbcScheduler = jdbcScheduler;
+        this.parallelism = parallelism;
+        this.maxConditions = maxConditions;
+        this.maxTimeoutMillis = maxTimeoutMillis;
+    }
+
+    /**
+     * @return 요청한 조건 순서대로의 결과
+     */
+    Mono<List<BatchSearchResult>> search(List<MemberSearchCondition> conditions, long timeoutMillis) {
+        if (conditions.size() > maxConditions) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST,
+                    "Too many conditions: " + conditions.size() + " (max " + maxConditions + ")");
+        }
+        if (timeoutMillis <= 0 || timeoutMillis > maxTimeoutMillis) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST,
+                    "Timeout must be between 1 and " + maxTimeoutMillis + " ms");
+        }
+        Duration timeout = Duration.ofMillis(timeoutMillis);
+
+        List<MemberSearchCondition> keys = new ArrayList<>(conditions.size());
+        for (MemberSearchCondition condition : conditions) {
+            keys.add(condition == null ? new MemberSearchCondition() : condition.normalized());
+        }
+
+        Set<MemberSearchCondition> distinctKeys = new LinkedHashSet<>(keys);
+        // 조건마다 결과가 먼저 나오고, 쿼리가 끝나야 flatMap 슬롯이 반납된다.
+        // 결과가 모두 모이면 아직 실행중인(TIMEOUT) 쿼리를 기다리지 않고 응답한다.
+        return Flux.fromIterable(distinctKeys)
+                .flatMap(key -> searchOne(key, timeout), parallelism)
+                .take(distinctKeys.size())
+                .collectMap(Tuple2::getT1, Tuple2::getT2)
+                .map(results -> inRequestOrder(keys, results));
+    }
+
+    // 결과(OK, TIMEOUT, ERROR) 하나를 내보낸 뒤, 쿼리가 실제로 끝나면 완료된다.
+    private Flux<Tuple2<MemberSearchCondition, BatchSearchResult>> searchOne(MemberSearchCondition condition,
+                                                                             Duration timeout) {
+        return Flux.defer(() -> {
+            CompletableFuture<List<MemberTeamDto>> query = submit(condition);
+            // 타임아웃으로 구독이 취소되어도 query 는 취소되지 않도록 파생된 future 를 구독한다.
+            Mono<BatchSearchResult> result = Mono.fromFuture(query.thenApply(BatchSearchResult::ok))
+                    .timeout(timeout)
+                    .onErrorResume(TimeoutException.class, e -> Mono.just(BatchSearchResult.timeout()))
+                    .onErrorResume(e -> {
+                        Throwable cause = e instanceof CompletionException && e.getCause() != null ? e.getCause() : e;
+                        log.warn("Batch search failed: {}", condition, cause);
+                        return Mono.just(BatchSearchResult.error(cause.getClass().getSimpleName()));
+                    });
+            // 타임아웃 여부와 상관없이 쿼리가 끝나면 완료
+            Mono<Tuple2<MemberSearchCondition, BatchSearchResult>> finished =
+                    Mono.fromFuture(query.handle((rows, e) -> true)).then(Mono.empty());
+            return result.map(searchResult -> Tuples.of(condition, searchResult)).concatWith(finished);
+        });
+    }
+
+    private CompletableFuture<List<MemberTeamDto>> submit(MemberSearchCondition condition) {
+        CompletableFuture<List<MemberTeamDto>> query = new CompletableFuture<>();
+        try {
+            jdbcScheduler.schedule(() -> {
+                try {
+                    query.complete(memberRepository.search(condition));
+                } catch (Throwable e) {
+                    query.completeExceptionally(e);
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            query.completeExceptionally(e);
+        }
+        return query;
+    }
+
+    private static List<BatchSearchResult> inRequestOrder(List<MemberSearchCondition> keys,
+                                                          Map<MemberSearchCondition, BatchSearchResult> results) {
+        List<BatchSearchResult> ordered = new ArrayList<>(keys.size());
+        for (MemberSearchCondition key : keys) {
+            ordered.add(results.get(key));
+        }
+        return ordered;
+    }
+}
@@ -1,15 +1,28 @@
 package study.querydsl.controller;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
 import lombok.RequiredArgsConstructor;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.ServletWebRequest;
+import study.querydsl.dto.AgeStatsDto;
+import study.querydsl.dto.CursorSlice;
 import study.querydsl.dto.MemberSearchCondition;
 import study.querydsl.dto.MemberTeamDto;
 import study.querydsl.repository.MemberJpaRepository;
 import study.querydsl.repository.MemberRepository;
+import study.querydsl.repository.support.CountMode;
+import study.querydsl.repository.support.InvalidSearchException;
 
+import javax.servlet.http.HttpServletResponse;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.nio.charset.StandardCharsets;
 import java.util.List;
 
 /**
@@ -22,26 +35,113 @@ import java.util.List;
 @RequiredArgsConstructor
 public class MemberController {
 
+    // export 의 JDBC fetch size 상한, 너무 크면 드라이버가 결과를 한번에 버퍼링한다.
+    private static final int MAX_EXPORT_FETCH_SIZE = 10000;
+    // export 중 영속성 컨텍스트를 비우는 간격 (fetch size 와 상관없이 서버에서 정한다)
+    private static final int EXPORT_CLEAR_INTERVAL = 1000;
+
     private final MemberJpaRepository memberJpaRepository;
     private final MemberRepository memberRepository;
+    private final ObjectMapper objectMapper;
+    private final MemberSearchETag memberSearchETag;
 
+    /**
+     * v1 ~ v4 는 조건부 GET 지원, 데이터가 바뀌지 않았으면 DB 조회 없이 304 (MemberSearchETag)
+     */
     @GetMapping("/v1/members")
-    public List<MemberTeamDto> searchMemberV1(MemberSearchCondition condition) {
+    public List<MemberTeamDto> searchMemberV1(MemberSearchCondition condition, ServletWebRequest request) {
+        if (memberSearchETag.checkNotModified(request, "v1", condition.normalized())) {
+            return null;
+        }
         return memberJpaRepository.search(condition);
     }
 
+    /**
+     * 검색 결과 전체를 NDJSON 또는 CSV 로 스트리밍
+     * v1 과 달리 결과를 List 로 모으지 않고 조회하는대로 응답에 써준다.
+     */
+    @GetMapping("/v1/members/export")
+    public void exportMembersV1(MemberSearchCondition condition,
+                                @RequestParam(defaultValue = "NDJSON") MemberExportWriter.Format format,
+                                @RequestParam(defaultValue = "1000") int fetchSize,
+                                HttpServletResponse response) throws IOException {
+        if (fetchSize <= 0 || fetchSize > MAX_EXPORT_FETCH_SIZE) {
+            throw new InvalidSearchException("Fetch size must be between 1 and " + MAX_EXPORT_FETCH_SIZE + ": " + fetchSize);
+        }
+        response.setContentType(format.getContentType());
+        response.setCharacterEncoding(StandardCharsets.UTF_8.name());
+
+        BufferedWriter writer = new BufferedWriter(
+                new OutputStreamWriter(response.getOutputStream(), StandardCharsets.UTF_8));
+        MemberExportWriter exportWriter = new MemberExportWriter(format, writer, objectMapper.writer());
+        exportWriter.writeHeader();
+        memberJpaRepository.searchStream(condition, fetchSize, EXPORT_CLEAR_INTERVAL, exportWriter);
+        exportWriter.flush();
+    }
+
     @GetMapping("/v2/members")
-    public Page<MemberTeamDto> searchMemberV2(MemberSearchCondition condition, Pageable pageable) {
+    public Page<MemberTeamDto> searchMemberV2(MemberSearchCondition condition, Pageable pageable,
+                                              ServletWebRequest request) {
+        if (memberSearchETag.checkNotModified(request, "v2", condition.normalized(), pageable)) {
+            return null;
+        }
         return memberRepository.searchPageSimple(condition, pageable);
     }
 
     @GetMapping("/v3/members")
-    public Page<MemberTeamDto> searchMemberV3(MemberSearchCondition condition, Pageable pageable) {
+    public Page<MemberTeamDto> searchMemberV3(MemberSearchCondition condition, Pageable pageable,
+                                              @RequestParam(defaultValue = "false") boolean parallelCount,
+                                              ServletWebRequest request) {
+        if (memberSearchETag.checkNotModified(request, "v3", condition.normalized(), pageable)) {
+            return null;
+        }
+        if (parallelCount) {
+            return memberRepository.searchPageComplexParallel(condition, pageable);
+        }
         return memberRepository.searchPageComplex(condition, pageable);
     }
 
     @GetMapping("/v4/members")
-    public Page<MemberTeamDto> searchMemberV4(MemberSearchCondition condition, Pageable pageable) {
-        return memberRepository.searchPageComplexOptimization(condition, pageable);
+    public Page<MemberTeamDto> searchMemberV4(MemberSearchCondition condition, Pageable pageable,
+                                              @RequestParam(defaultValue = "EXACT") CountMode countMode,
+                                              @RequestParam(defaultValue = "false") boolean idFirst,
+                                              ServletWebRequest request) {
+        // CACHED/ESTIMATED 는 건수가 근사값일 수 있으므로 모드별로 ETag 를 구분한다.
+        if (memberSearchETag.checkNotModified(request, "v4", condition.normalized(), pageable, countMode, idFirst)) {
+            return null;
+        }
+        if (idFirst) {
+            return memberRepository.searchPageIdFirst(condition, pageable, countMode);
+        }
+        return memberRepository.searchPageComplexOptimization(condition, pageable, countMode);
+    }
+
+    @GetMapping("/v4/members/slice")
+    public Slice<MemberTeamDto> searchMemberV4Slice(MemberSearchCondition condition, Pageable pageable,
+                                                    ServletWebRequest request) {
+        if (memberSearchETag.checkNotModified(request, "v4-slice", condition.normalized(), pageable)) {
+            return null;
+        }
+        return memberRepository.searchSliceWithoutCount(condition, pageable);
+    }
+
+    @GetMapping("/v5/members")
+    public CursorSlice<MemberTeamDto> searchMemberV5(MemberSearchCondition condition,
+                                                     @RequestParam(required = false) String cursor,
+                                                     @RequestParam(defaultValue = "20") int size) {
+        return memberRepository.searchSlice(condition, cursor, size);
+    }
+
+    /**
+     * 대시보드용 나이 집계, 메모리 스냅샷에서 계산 (MemberAgeSnapshot)
+     */
+    @GetMapping("/v1/members/age-stats")
+    public AgeStatsDto ageStats() {
+        return memberRepository.ageStats();
+    }
+
+    @GetMapping("/v1/members/age-stats/teams")
+    public List<AgeStatsDto> ageStatsByTeam() {
+        return memberRepository.ageStatsByTeam();
     }
 }
@@ -0,0 +1,96 @@
+package study.querydsl.controller;
+
+import com.fasterxml.jackson.databind.ObjectWriter;
+import study.querydsl.dto.MemberTeamDto;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.util.function.Consumer;
+
+/**
+ * Created by IntelliJ IDEA.
+ * User: june
+ * Date: 2026-10-17
+ * Time: 14:05
+ **/
+// 조회된 회원을 한건씩 응답에 바로 써준다. (전체 결과를 메모리에 올리지 않음)
+class MemberExportWriter implements Consumer<MemberTeamDto> {
+
+    enum Format {
+        NDJSON("application/x-ndjson"),
+        CSV("text/csv");
+
+        private final String contentType;
+
+        Format(String contentType) {
+            this.contentType = contentType;
+        }
+
+        String getContentType() {
+            return contentType;
+        }
+    }
+
+    private static final String CSV_HEADER = "memberId,username,age,teamId,teamName";
+
+    private final Format format;
+    private final Writer writer;
+    private final ObjectWriter objectWriter;
+
+    MemberExportWriter(Format format, Writer writer, ObjectWriter objectWriter) {
+        this.format = format;
+        this.writer = writer;
+        this.objectWriter = objectWriter;
+    }
+
+    void writeHeader() {
+        if (format == Format.CSV) {
+            writeLine(CSV_HEADER);
+        }
+    }
+
+    @Override
+    public void accept(MemberTeamDto dto) {
+        try {
+            writeLine(format == Format.CSV ? toCsv(dto) : objectWriter.writeValueAsString(dto));
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    void flush() {
+        try {
+            writer.flush();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private void writeLine(String line) {
+        try {
+            writer.write(line);
+            writer.write('\n');
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private String toCsv(MemberTeamDto dto) {
+        return dto.getMemberId() + ","
+                + csvValue(dto.getUsername()) + ","
+                + dto.getAge() + ","
+                + (dto.getTeamId() == null ? "" : dto.getTeamId()) + ","
+                + csvValue(dto.getTeamName());
+    }
+
+    private String csvValue(String value) {
+        if (value == null) {
+            return "";
+        }
+        if (value.contains(",") || value.contains("\"") || value.contains("\n") || value.contains("\r")) {
+            return "\"" + value.replace("\"", "\"\"") + "\"";
+        }
+        return value;
+    }
+}
@@ -0,0 +1,72 @@
+package study.querydsl.controller;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.MediaType;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Scheduler;
+import study.querydsl.dto.BatchSearchResult;
+import study.querydsl.dto.CursorSlice;
+import study.querydsl.dto.MemberSearchCondition;
+import study.querydsl.dto.MemberTeamDto;
+import study.querydsl.repository.MemberRepository;
+
+import java.util.List;
+
+/**
+ * Created by IntelliJ IDEA.
+ * User: june
+ * Date: 2026-10-17
+ * Time: 18:45
+ **/
+// 서블릿 스레드를 JDBC 대기로 붙잡지 않는 검색 API
+// 조회는 jdbcScheduler 에서 실행되고, 서블릿 스레드는 비동기 요청으로 반환된다. (톰캣 스레드 수 이상의 동시 요청 처리)
+@RestController
+@RequiredArgsConstructor
+public class MemberReactiveController {
+
+    private final MemberRepository memberRepository;
+    private final Scheduler jdbcScheduler;
+    private final MemberBatchSearch memberBatchSearch;
+
+    @GetMapping("/v6/members")
+    public Mono<List<MemberTeamDto>> searchMemberV6(MemberSearchCondition condition) {
+        return Mono.fromCallable(() -> memberRepository.search(condition))
+                .subscribeOn(jdbcScheduler);
+    }
+
+    /**
+     * 검색 결과 스트리밍 (application/stream+json)
+     * 키셋 페이징(searchSlice)으로 클라이언트가 소비하는 만큼만 다음 페이지를 조회한다. (backpressure)
+     * 페이지마다 짧은 쿼리로 끝나므로 스트리밍 하는 동안 커넥션을 붙잡고 있지 않는다.
+     */
+    @GetMapping(value = "/v6/members/stream", produces = MediaType.APPLICATION_STREAM_JSON_VALUE)
+    public Flux<MemberTeamDto> streamMemberV6(MemberSearchCondition condition,
+                                              @RequestParam(defaultValue = "100") int pageSize) {
+        return fetchSlice(condition, null, pageSize)
+                .expand(slice -> slice.isHasNext()
+                        ? fetchSlice(condition, slice.getNextCursor(), pageSize)
+                        : Mono.<CursorSlice<MemberTeamDto>>empty())
+                .flatMapIterable(CursorSlice::getContent, 1);
+    }
+
+    /**
+     * 여러 검색조건 일괄 조회, 응답은 요청한 조건 순서대로 (MemberBatchSearch)
+     * 같은 조건은 한번만 조회하고, 조건마다 timeoutMillis 를 넘기면 해당 조건만 TIMEOUT 으로 응답한다.
+     */
+    @PostMapping("/v6/members/search:batch")
+    public Mono<List<BatchSearchResult>> searchMemberBatchV6(@RequestBody List<MemberSearchCondition> conditions,
+                                                             @RequestParam(defaultValue = "2000") long timeoutMillis) {
+        return memberBatchSearch.search(conditions, timeoutMillis);
+    }
+
+    private Mono<CursorSlice<MemberTeamDto>> fetchSlice(MemberSearchCondition condition, String cursor, int pageSize) {
+        return Mono.fromCallable(() -> memberRepository.searchSlice(condition, cursor, pageSize))
+                .subscribeOn(jdbcScheduler);
+    }
+}
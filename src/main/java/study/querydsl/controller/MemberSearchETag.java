@@ -0,0 +1,47 @@
+package study.querydsl.controller;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.stereotype.Component;
+import org.springframework.web.context.request.ServletWebRequest;
+import study.querydsl.repository.support.MemberDataVersion;
+
+import java.util.Arrays;
+
+/**
+ * Created by IntelliJ IDEA.
+ * User: june
+ * Date: 2026-10-17
+ * Time: 20:55
+ **/
+// 회원 검색 응답의 조건부 GET (ETag / Last-Modified)
+// ETag = 시작시각 - 데이터 버전 - 검색조건/페이징 해시
+// 데이터 버전은 Member/Team 이 바뀔때마다 증가하므로(MemberDataVersion), 같으면 DB 조회 없이 304 로 응답한다.
+// 데이터 버전이 인스턴스 메모리에 있으므로 단일 인스턴스에서만 사용할 수 있다. (여러 인스턴스면 다른 인스턴스의 변경 후에도 304)
+@Component
+@RequiredArgsConstructor
+class MemberSearchETag {
+
+    private final MemberDataVersion memberDataVersion;
+
+    /**
+     * 조회 전에 호출해야 한다. (조회 도중 데이터가 바뀌면 다음 요청에서 ETag 가 달라지도록)
+     * Last-Modified 는 초 단위라 같은 초 안의 변경을 구분하지 못하므로, 클라이언트가 ETag 를 보내면 ETag 만 비교한다.
+     * @param request
+     * @param keys 응답을 결정하는 요청값 (검색조건, Pageable 등)
+     * @return true 면 304 응답이 설정된 상태이므로 바로 null 을 반환하면 된다.
+     */
+    boolean checkNotModified(ServletWebRequest request, Object... keys) {
+        long lastModified = memberDataVersion.lastModified();
+        String etag = Long.toHexString(memberDataVersion.epoch())
+                + "-" + memberDataVersion.current()
+                + "-" + Integer.toHexString(Arrays.hashCode(keys));
+
+        // 브라우저가 휴리스틱 캐시로 재검증 없이 사용하지 않도록 매번 재검증
+        if (request.getResponse() != null) {
+            request.getResponse().setHeader(HttpHeaders.CACHE_CONTROL, CacheControl.noCache().getHeaderValue());
+        }
+        return request.checkNotModified(etag, lastModified);
+    }
+}
@@ -0,0 +1,31 @@
+package study.querydsl.dto;
+
+import lombok.Data;
+
+/**
+ * Created by IntelliJ IDEA.
+ * User: june
+ * Date: 2026-10-17
+ * Time: 23:55
+ **/
+// 회원 나이 집계 (count, sum, avg, max, min)
+// 전체 집계면 teamName 은 null, 대상 회원이 없으면 count 외에는 null (SQL 집계함수와 동일)
+@Data
+public class AgeStatsDto {
+
+    private String teamName;
+    private long count;
+    private Long sum;
+    private Double avg;
+    private Integer max;
+    private Integer min;
+
+    public AgeStatsDto(String teamName, long count, Long sum, Double avg, Integer max, Integer min) {
+        this.teamName = teamName;
+        this.count = count;
+        this.sum = sum;
+        this.avg = avg;
+        this.max = max;
+        this.min = min;
+    }
+}
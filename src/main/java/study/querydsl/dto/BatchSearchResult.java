@@ -0,0 +1,46 @@
+package study.querydsl.dto;
+
+import lombok.Getter;
+
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Created by IntelliJ IDEA.
+ * User: june
+ * Date: 2026-10-17
+ * Time: 23:59
+ **/
+// 일괄 검색의 조건 하나에 대한 결과
+// 조건 하나가 실패하거나 시간을 넘겨도 나머지 결과는 그대로 응답한다.
+@Getter
+public class BatchSearchResult {
+
+    public enum Status {
+        OK,
+        TIMEOUT,
+        ERROR
+    }
+
+    private final Status status;
+    private final List<MemberTeamDto> content;
+    private final String error;
+
+    private BatchSearchResult(Status status, List<MemberTeamDto> content, String error) {
+        this.status = status;
+        this.content = content;
+        this.error = error;
+    }
+
+    public static BatchSearchResult ok(List<MemberTeamDto> content) {
+        return new BatchSearchResult(Status.OK, Collections.unmodifiableList(content), null);
+    }
+
+    public static BatchSearchResult timeout() {
+        return new BatchSearchResult(Status.TIMEOUT, Collections.emptyList(), null);
+    }
+
+    public static BatchSearchResult error(String error) {
+        return new BatchSearchResult(Status.ERROR, Collections.emptyList(), error);
+    }
+}
@@ -0,0 +1,30 @@
+package study.querydsl.dto;
+
+import lombok.Getter;
+
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Created by IntelliJ IDEA.
+ * User: june
+ * Date: 2026-10-17
+ * Time: 10:12
+ **/
+// 커서(키셋) 기반 페이징 결과
+// nextCursor 를 다음 요청의 cursor 로 그대로 넘겨주면 된다.
+@Getter
+public class CursorSlice<T> {
+
+    private final List<T> content;
+    private final int size;
+    private final boolean hasNext;
+    private final String nextCursor;
+
+    public CursorSlice(List<T> content, int size, boolean hasNext, String nextCursor) {
+        this.content = Collections.unmodifiableList(content);
+        this.size = size;
+        this.hasNext = hasNext;
+        this.nextCursor = nextCursor;
+    }
+}
@@ -1,6 +1,7 @@
 package study.querydsl.dto;
 
 import lombok.Data;
+import org.springframework.util.StringUtils;
 
 /**
  * Created by IntelliJ IDEA.
@@ -13,7 +14,28 @@ public class MemberSearchCondition {
     // 회원명, 팀명, 나이(Goe, Loe)
 
     private String username;
+    // null 이면 EXACT
+    private UsernameMatch usernameMatch;
     private String teamName;
     private Integer ageGoe;
     private Integer ageLoe;
+
+    public UsernameMatch getUsernameMatchOrDefault() {
+        return usernameMatch == null ? UsernameMatch.EXACT : usernameMatch;
+    }
+
+    /**
+     * 캐시 키 등으로 사용하기 위해 조건을 정규화한 복사본
+     * 빈 문자열은 조건이 없는것(null)과 동일하게 취급한다.
+     * @return
+     */
+    public MemberSearchCondition normalized() {
+        MemberSearchCondition normalized = new MemberSearchCondition();
+        normalized.setUsername(StringUtils.isEmpty(username) ? null : username);
+        normalized.setUsernameMatch(normalized.getUsername() == null ? null : getUsernameMatchOrDefault());
+        normalized.setTeamName(StringUtils.isEmpty(teamName) ? null : teamName);
+        normalized.setAgeGoe(ageGoe);
+        normalized.setAgeLoe(ageLoe);
+        return normalized;
+    }
 }
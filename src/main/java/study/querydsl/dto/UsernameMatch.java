@@ -0,0 +1,17 @@
+package study.querydsl.dto;
+
+/**
+ * Created by IntelliJ IDEA.
+ * User: june
+ * Date: 2026-10-17
+ * Time: 22:40
+ **/
+// MemberSearchCondition.username 비교 방식
+public enum UsernameMatch {
+    // username = ?
+    EXACT,
+    // username like '?%'
+    PREFIX,
+    // username like '%?%'
+    CONTAINS
+}
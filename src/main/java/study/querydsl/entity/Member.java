@@ -1,6 +1,9 @@
 package study.querydsl.entity;
 
 import lombok.*;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+import study.querydsl.entity.event.EntityChangePublisher;
 
 import javax.persistence.*;
 
@@ -11,12 +14,28 @@ import javax.persistence.*;
  * Time: 22:25
  **/
 @Entity
+@Table(indexes = {
+        // usernameEq (+ age 범위)
+        @Index(name = "idx_member_username_age", columnList = "username, age"),
+        // ageGoe, ageLoe
+        @Index(name = "idx_member_age", columnList = "age"),
+        // 팀 조인 (+ age 범위)
+        @Index(name = "idx_member_team_id_age", columnList = "team_id, age")
+})
+// 팀까지 한번에 조회 (MemberFetchPlan.MEMBER_TEAM)
+@NamedEntityGraph(name = "Member.team", attributeNodes = @NamedAttributeNode("team"))
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE)
+@EntityListeners(EntityChangePublisher.class)
 @Getter @Setter
 @NoArgsConstructor(access = AccessLevel.PROTECTED)
 @ToString(of = {"id", "username", "age"})
 public class Member {
 
-    @Id @GeneratedValue
+    // pooled 시퀀스: allocationSize 만큼 시퀀스를 한번에 받아와서 대량 저장시 시퀀스 조회를 줄인다.
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "member_seq_generator")
+    @SequenceGenerator(name = "member_seq_generator", sequenceName = "member_seq", allocationSize = 50)
     @Column(name = "member_id")
     private Long id;
 
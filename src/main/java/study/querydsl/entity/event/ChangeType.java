@@ -0,0 +1,15 @@
+package study.querydsl.entity.event;
+
+/**
+ * Created by IntelliJ IDEA.
+ * User: june
+ * Date: 2026-10-17
+ * Time: 13:02
+ **/
+public enum ChangeType {
+    PERSIST,
+    UPDATE,
+    REMOVE,
+    // 벌크 연산은 어떤 엔티티가 바뀌었는지 알 수 없다.
+    BULK
+}
@@ -0,0 +1,55 @@
+package study.querydsl.entity.event;
+
+import org.springframework.context.ApplicationEventPublisher;
+import study.querydsl.entity.Member;
+import study.querydsl.entity.Team;
+
+import javax.persistence.PostPersist;
+import javax.persistence.PostRemove;
+import javax.persistence.PostUpdate;
+
+/**
+ * Created by IntelliJ IDEA.
+ * User: june
+ * Date: 2026-10-17
+ * Time: 13:10
+ **/
+// JPA 엔티티 리스너 -> 스프링 이벤트
+// 스프링 부트는 하이버네이트에 SpringBeanContainer 를 등록하므로 엔티티 리스너도 생성자 주입을 받을 수 있다.
+// 벌크 연산은 엔티티 콜백이 호출되지 않으므로 벌크 연산을 하는 쪽에서 직접 이벤트를 발행해야 한다.
+public class EntityChangePublisher {
+
+    private final ApplicationEventPublisher eventPublisher;
+
+    public EntityChangePublisher(ApplicationEventPublisher eventPublisher) {
+        this.eventPublisher = eventPublisher;
+    }
+
+    @PostPersist
+    public void postPersist(Object entity) {
+        publish(entity, ChangeType.PERSIST);
+    }
+
+    @PostUpdate
+    public void postUpdate(Object entity) {
+        publish(entity, ChangeType.UPDATE);
+    }
+
+    @PostRemove
+    public void postRemove(Object entity) {
+        publish(entity, ChangeType.REMOVE);
+    }
+
+    private void publish(Object entity, ChangeType type) {
+        if (entity instanceof Member) {
+            Member member = (Member) entity;
+            // 팀이 프록시여도 getId() 는 초기화하지 않는다.
+            Long teamId = member.getTeam() == null ? null : member.getTeam().getId();
+            eventPublisher.publishEvent(
+                    new MemberChangedEvent(type, member.getId(), member.getUsername(), member.getAge(), teamId));
+        } else if (entity instanceof Team) {
+            Team team = (Team) entity;
+            eventPublisher.publishEvent(new TeamChangedEvent(type, team.getId(), team.getName()));
+        }
+    }
+}
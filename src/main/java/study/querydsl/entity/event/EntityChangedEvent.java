@@ -0,0 +1,21 @@
+package study.querydsl.entity.event;
+
+import lombok.Getter;
+
+/**
+ * Created by IntelliJ IDEA.
+ * User: june
+ * Date: 2026-10-17
+ * Time: 13:04
+ **/
+// Member/Team 변경 이벤트의 공통 타입
+// 캐시 무효화처럼 어떤 엔티티인지 상관없는 리스너는 이 타입으로 구독하면 된다.
+@Getter
+public abstract class EntityChangedEvent {
+
+    private final ChangeType type;
+
+    protected EntityChangedEvent(ChangeType type) {
+        this.type = type;
+    }
+}
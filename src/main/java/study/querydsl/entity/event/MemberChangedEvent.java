@@ -0,0 +1,35 @@
+package study.querydsl.entity.event;
+
+import lombok.Getter;
+import lombok.ToString;
+
+/**
+ * Created by IntelliJ IDEA.
+ * User: june
+ * Date: 2026-10-17
+ * Time: 13:06
+ **/
+@Getter
+@ToString
+public class MemberChangedEvent extends EntityChangedEvent {
+
+    // BULK 이면 null
+    private final Long memberId;
+    // 변경 후 값 (메모리 인덱스 갱신용), BULK 이면 null
+    private final String username;
+    private final Integer age;
+    // 팀이 없으면 null
+    private final Long teamId;
+
+    public MemberChangedEvent(ChangeType type, Long memberId, String username, Integer age, Long teamId) {
+        super(type);
+        this.memberId = memberId;
+        this.username = username;
+        this.age = age;
+        this.teamId = teamId;
+    }
+
+    public static MemberChangedEvent bulk() {
+        return new MemberChangedEvent(ChangeType.BULK, null, null, null, null);
+    }
+}
@@ -0,0 +1,25 @@
+package study.querydsl.entity.event;
+
+import lombok.Getter;
+import lombok.ToString;
+
+/**
+ * Created by IntelliJ IDEA.
+ * User: june
+ * Date: 2026-10-17
+ * Time: 13:07
+ **/
+@Getter
+@ToString
+public class TeamChangedEvent extends EntityChangedEvent {
+
+    private final Long teamId;
+    // 변경 후 팀명 (MemberAgeSnapshot 갱신용)
+    private final String name;
+
+    public TeamChangedEvent(ChangeType type, Long teamId, String name) {
+        super(type);
+        this.teamId = teamId;
+        this.name = name;
+    }
+}
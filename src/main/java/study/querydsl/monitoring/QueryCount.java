@@ -0,0 +1,62 @@
+package study.querydsl.monitoring;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+
+/**
+ * Created by IntelliJ IDEA.
+ * User: june
+ * Date: 2026-10-17
+ * Time: 16:02
+ **/
+// 한 요청에서 실행된 SQL 통계 (요청 스레드에서만 사용)
+public class QueryCount {
+
+    private static final Pattern LEADING_COMMENT = Pattern.compile("^\\s*/\\*.*?\\*/\\s*", Pattern.DOTALL);
+
+    private int statements;
+    private long jdbcNanos;
+    private long rows;
+    private final Map<String, Integer> selects = new HashMap<>();
+
+    void recordStatement(String sql, long elapsedNanos) {
+        statements++;
+        jdbcNanos += elapsedNanos;
+        if (sql == null) {
+            return;
+        }
+        String normalized = LEADING_COMMENT.matcher(sql).replaceFirst("").trim();
+        if (normalized.regionMatches(true, 0, "select", 0, "select".length())) {
+            selects.merge(normalized, 1, Integer::sum);
+        }
+    }
+
+    void recordRow() {
+        rows++;
+    }
+
+    public int getStatements() {
+        return statements;
+    }
+
+    public long getJdbcNanos() {
+        return jdbcNanos;
+    }
+
+    public long getRows() {
+        return rows;
+    }
+
+    /**
+     * 같은 select 가 threshold 번 이상 실행된 경우 N+1 로 의심한다.
+     * ex) Member.team 지연로딩 -> select ... from team where id=? 반복
+     * @return sql -> 실행 횟수
+     */
+    public Map<String, Integer> nPlusOneSuspects(int threshold) {
+        return selects.entrySet().stream()
+                .filter(e -> e.getValue() >= threshold)
+                .collect(Collectors.toMap(Map.Entry::getKey, Map.Entry::getValue));
+    }
+}
@@ -0,0 +1,96 @@
+package study.querydsl.monitoring;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerMapping;
+
+import javax.servlet.FilterChain;
+import javax.servlet.ServletException;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Pattern;
+
+/**
+ * Created by IntelliJ IDEA.
+ * User: june
+ * Date: 2026-10-17
+ * Time: 16:12
+ **/
+// /v{n}/members 요청마다 SQL 실행 횟수, JDBC 시간, 조회 로우수를 집계해서 메트릭으로 남긴다.
+// 같은 select 가 반복되면 N+1 로 보고 경고 로그를 남긴다.
+@Slf4j
+@Component
+public class QueryCountFilter extends OncePerRequestFilter {
+
+    private static final Pattern MEMBER_API = Pattern.compile("^/v\\d+/members(/.*)?$");
+
+    private final MeterRegistry meterRegistry;
+    private final int nPlusOneThreshold;
+
+    public QueryCountFilter(MeterRegistry meterRegistry,
+                            @Value("${member.query-count.n-plus-one-threshold:3}") int nPlusOneThreshold) {
+        this.meterRegistry = meterRegistry;
+        this.nPlusOneThreshold = nPlusOneThreshold;
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        String path = request.getRequestURI().substring(request.getContextPath().length());
+        return !MEMBER_API.matcher(path).matches();
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response,
+                                    FilterChain filterChain) throws ServletException, IOException {
+        QueryCount queryCount = QueryCountHolder.start();
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            QueryCountHolder.clear();
+            // 비동기 요청(/v6)은 조회가 다른 스레드에서 실행되므로 집계하지 않는다.
+            if (!isAsyncStarted(request)) {
+                record(request, queryCount);
+            }
+        }
+    }
+
+    private void record(HttpServletRequest request, QueryCount queryCount) {
+        Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        String uri = pattern == null ? "UNKNOWN" : pattern.toString();
+
+        DistributionSummary.builder("member.request.queries")
+                .description("SQL statements executed per member API request")
+                .tag("uri", uri)
+                .register(meterRegistry)
+                .record(queryCount.getStatements());
+        Timer.builder("member.request.jdbc.time")
+                .description("Total JDBC execution time per member API request")
+                .tag("uri", uri)
+                .register(meterRegistry)
+                .record(queryCount.getJdbcNanos(), TimeUnit.NANOSECONDS);
+        DistributionSummary.builder("member.request.rows")
+                .description("Rows fetched per member API request")
+                .tag("uri", uri)
+                .register(meterRegistry)
+                .record(queryCount.getRows());
+
+        Map<String, Integer> suspects = queryCount.nPlusOneSuspects(nPlusOneThreshold);
+        if (!suspects.isEmpty()) {
+            Counter.builder("member.request.n_plus_one")
+                    .description("Member API requests with repeated select statements")
+                    .tag("uri", uri)
+                    .register(meterRegistry)
+                    .increment();
+            log.warn("N+1 suspected on {} {}: {}", request.getMethod(), request.getRequestURI(), suspects);
+        }
+    }
+}
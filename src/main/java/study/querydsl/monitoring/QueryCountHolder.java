@@ -0,0 +1,31 @@
+package study.querydsl.monitoring;
+
+/**
+ * Created by IntelliJ IDEA.
+ * User: june
+ * Date: 2026-10-17
+ * Time: 16:05
+ **/
+// 요청 스레드별 QueryCount
+// 요청 밖(배치, 다른 스레드)에서 실행된 SQL 은 집계하지 않는다.
+public final class QueryCountHolder {
+
+    private static final ThreadLocal<QueryCount> HOLDER = new ThreadLocal<>();
+
+    private QueryCountHolder() {
+    }
+
+    public static QueryCount start() {
+        QueryCount queryCount = new QueryCount();
+        HOLDER.set(queryCount);
+        return queryCount;
+    }
+
+    public static QueryCount current() {
+        return HOLDER.get();
+    }
+
+    public static void clear() {
+        HOLDER.remove();
+    }
+}
@@ -0,0 +1,36 @@
+package study.querydsl.monitoring;
+
+import com.p6spy.engine.common.ResultSetInformation;
+import com.p6spy.engine.common.StatementInformation;
+import com.p6spy.engine.event.JdbcEventListener;
+import org.springframework.stereotype.Component;
+
+import java.sql.SQLException;
+
+/**
+ * Created by IntelliJ IDEA.
+ * User: june
+ * Date: 2026-10-17
+ * Time: 16:08
+ **/
+// p6spy-spring-boot-starter 는 JdbcEventListener 빈을 데이터소스 프록시에 등록해준다.
+@Component
+public class QueryCountListener extends JdbcEventListener {
+
+    @Override
+    public void onAfterAnyExecute(StatementInformation statementInformation, long timeElapsedNanos, SQLException e) {
+        QueryCount queryCount = QueryCountHolder.current();
+        if (queryCount != null) {
+            queryCount.recordStatement(statementInformation.getSql(), timeElapsedNanos);
+        }
+    }
+
+    @Override
+    public void onAfterResultSetNext(ResultSetInformation resultSetInformation, long timeElapsedNanos,
+                                     boolean hasNext, SQLException e) {
+        QueryCount queryCount = QueryCountHolder.current();
+        if (queryCount != null && hasNext) {
+            queryCount.recordRow();
+        }
+    }
+}
@@ -0,0 +1,50 @@
+package study.querydsl.monitoring;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.MethodParameter;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.http.server.ServerHttpRequest;
+import org.springframework.http.server.ServerHttpResponse;
+import org.springframework.web.bind.annotation.ControllerAdvice;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyAdvice;
+import study.querydsl.controller.MemberController;
+
+/**
+ * Created by IntelliJ IDEA.
+ * User: june
+ * Date: 2026-10-17
+ * Time: 16:20
+ **/
+// 응답 바디를 쓰기 직전에 (= 조회가 끝난 뒤, 헤더가 커밋되기 전) 쿼리 통계를 헤더로 내려준다.
+@ControllerAdvice(assignableTypes = MemberController.class)
+public class QueryCountResponseAdvice implements ResponseBodyAdvice<Object> {
+
+    private final int nPlusOneThreshold;
+
+    public QueryCountResponseAdvice(@Value("${member.query-count.n-plus-one-threshold:3}") int nPlusOneThreshold) {
+        this.nPlusOneThreshold = nPlusOneThreshold;
+    }
+
+    @Override
+    public boolean supports(MethodParameter returnType, Class<? extends HttpMessageConverter<?>> converterType) {
+        return true;
+    }
+
+    @Override
+    public Object beforeBodyWrite(Object body, MethodParameter returnType, MediaType selectedContentType,
+                                  Class<? extends HttpMessageConverter<?>> selectedConverterType,
+                                  ServerHttpRequest request, ServerHttpResponse response) {
+        QueryCount queryCount = QueryCountHolder.current();
+        if (queryCount != null) {
+            response.getHeaders().set("X-Query-Count", String.valueOf(queryCount.getStatements()));
+            response.getHeaders().set("X-Query-Time-Ms", String.valueOf(queryCount.getJdbcNanos() / 1_000_000));
+            response.getHeaders().set("X-Query-Rows", String.valueOf(queryCount.getRows()));
+            int suspects = queryCount.nPlusOneSuspects(nPlusOneThreshold).size();
+            if (suspects > 0) {
+                response.getHeaders().set("X-Query-N-Plus-One", String.valueOf(suspects));
+            }
+        }
+        return body;
+    }
+}
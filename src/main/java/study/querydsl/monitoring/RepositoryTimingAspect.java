@@ -0,0 +1,47 @@
+package study.querydsl.monitoring;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.springframework.stereotype.Component;
+
+/**
+ * Created by IntelliJ IDEA.
+ * User: june
+ * Date: 2026-10-17
+ * Time: 21:10
+ **/
+// 리포지토리 검색 메소드별 실행시간 (member.repository.query{class, method, exception})
+// 커넥션 풀 대기시간(hikaricp.connections.acquire)과 같이 보면 느려진 원인이 쿼리인지 풀 포화인지 구분할 수 있다.
+@Aspect
+@Component
+public class RepositoryTimingAspect {
+
+    private final MeterRegistry meterRegistry;
+
+    public RepositoryTimingAspect(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+    }
+
+    @Around("execution(public * study.querydsl.repository.MemberRepositoryImpl.search*(..))"
+            + " || execution(public * study.querydsl.repository.MemberJpaRepository.search*(..))")
+    public Object time(ProceedingJoinPoint joinPoint) throws Throwable {
+        Timer.Sample sample = Timer.start(meterRegistry);
+        String exception = "none";
+        try {
+            return joinPoint.proceed();
+        } catch (Throwable e) {
+            exception = e.getClass().getSimpleName();
+            throw e;
+        } finally {
+            sample.stop(Timer.builder("member.repository.query")
+                    .description("Member repository search method execution time")
+                    .tag("class", joinPoint.getSignature().getDeclaringType().getSimpleName())
+                    .tag("method", joinPoint.getSignature().getName())
+                    .tag("exception", exception)
+                    .register(meterRegistry));
+        }
+    }
+}
@@ -0,0 +1,83 @@
+package study.querydsl.repository;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Created by IntelliJ IDEA.
+ * User: june
+ * Date: 2026-10-17
+ * Time: 17:40
+ **/
+// 청크 단위 벌크 업데이트 진행상황
+public class BulkUpdateProgress {
+
+    private final long minId;
+    private final long maxId;
+    private final AtomicLong processedUpTo;
+    private final AtomicLong updatedRows = new AtomicLong();
+    private final AtomicLong chunks = new AtomicLong();
+    private final AtomicBoolean cancelled = new AtomicBoolean();
+    private final CompletableFuture<Long> completion = new CompletableFuture<>();
+
+    BulkUpdateProgress(long minId, long maxId) {
+        this.minId = minId;
+        this.maxId = maxId;
+        this.processedUpTo = new AtomicLong(minId - 1);
+    }
+
+    static BulkUpdateProgress empty() {
+        BulkUpdateProgress progress = new BulkUpdateProgress(0, -1);
+        progress.completion.complete(0L);
+        return progress;
+    }
+
+    void chunkDone(long toId, long rows) {
+        processedUpTo.set(toId);
+        updatedRows.addAndGet(rows);
+        chunks.incrementAndGet();
+    }
+
+    public long getMinId() {
+        return minId;
+    }
+
+    public long getMaxId() {
+        return maxId;
+    }
+
+    public long getUpdatedRows() {
+        return updatedRows.get();
+    }
+
+    public long getChunks() {
+        return chunks.get();
+    }
+
+    // id 구간 기준 진행률 (0.0 ~ 1.0)
+    public double getRatio() {
+        if (maxId < minId) {
+            return 1.0;
+        }
+        return (double) (processedUpTo.get() - minId + 1) / (maxId - minId + 1);
+    }
+
+    public boolean isDone() {
+        return completion.isDone();
+    }
+
+    // 진행중인 청크까지만 처리하고 멈춘다.
+    public void cancel() {
+        cancelled.set(true);
+    }
+
+    public boolean isCancelled() {
+        return cancelled.get();
+    }
+
+    // 완료되면 전체 변경 로우수
+    public CompletableFuture<Long> getCompletion() {
+        return completion;
+    }
+}
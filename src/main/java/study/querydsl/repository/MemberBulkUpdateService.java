@@ -0,0 +1,138 @@
+package study.querydsl.repository;
+
+import com.querydsl.core.Tuple;
+import com.querydsl.core.types.Predicate;
+import com.querydsl.core.types.dsl.NumberExpression;
+import com.querydsl.jpa.impl.JPAQueryFactory;
+import com.querydsl.jpa.impl.JPAUpdateClause;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.util.Assert;
+import study.querydsl.entity.event.MemberChangedEvent;
+
+import javax.annotation.PreDestroy;
+import javax.persistence.EntityManager;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.function.Consumer;
+
+import static study.querydsl.entity.QMember.member;
+
+/**
+ * Created by IntelliJ IDEA.
+ * User: june
+ * Date: 2026-10-17
+ * Time: 17:45
+ **/
+// 큰 벌크 업데이트를 member.id 구간(청크)으로 나눠서 짧은 트랜잭션으로 실행한다.
+// 한번의 update 로 넓은 범위에 락을 오래 잡고 있지 않도록 청크 사이에 쉬어가며 백그라운드로 처리한다.
+@Slf4j
+@Service
+public class MemberBulkUpdateService {
+
+    private final EntityManager em;
+    private final JPAQueryFactory queryFactory;
+    private final TransactionTemplate transactionTemplate;
+    private final ApplicationEventPublisher eventPublisher;
+    // 벌크 작업끼리도 락 경합이 생기지 않도록 한번에 하나씩 실행
+    private final ExecutorService executor = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "member-bulk-update");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    public MemberBulkUpdateService(EntityManager em, PlatformTransactionManager transactionManager,
+                                   ApplicationEventPublisher eventPublisher) {
+        this.em = em;
+        this.queryFactory = new JPAQueryFactory(em);
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.transactionTemplate.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.eventPublisher = eventPublisher;
+    }
+
+    /**
+     * ex) 나이 28 미만 회원 이름 변경
+     * <pre>
+     * updateInChunks(member.age.lt(28), clause -> clause.set(member.username, "비회원"), 1000, 50);
+     * </pre>
+     * JPQL update 는 조인을 할 수 없으므로 where 조건에는 member 의 속성만 사용해야 한다.
+     * @param where 변경 대상 조건
+     * @param setter set 절
+     * @param chunkSize 한 트랜잭션에서 처리할 id 구간 크기
+     * @param pauseMillis 청크 사이 대기시간 (다른 트랜잭션에 락을 양보)
+     * @return 진행상황, getCompletion() 으로 완료를 기다릴 수 있다.
+     */
+    public BulkUpdateProgress updateInChunks(Predicate where, Consumer<JPAUpdateClause> setter,
+                                             int chunkSize, long pauseMillis) {
+        Assert.isTrue(chunkSize > 0, "Chunk size must be greater than zero!");
+        Assert.isTrue(pauseMillis >= 0, "Pause must not be negative!");
+
+        NumberExpression<Long> min = member.id.min();
+        NumberExpression<Long> max = member.id.max();
+        Tuple range = queryFactory
+                .select(min, max)
+                .from(member)
+                .where(where)
+                .fetchOne();
+        Long minId = range == null ? null : range.get(min);
+        Long maxId = range == null ? null : range.get(max);
+        if (minId == null || maxId == null) {
+            return BulkUpdateProgress.empty();
+        }
+
+        BulkUpdateProgress progress = new BulkUpdateProgress(minId, maxId);
+        executor.execute(() -> run(where, setter, chunkSize, pauseMillis, progress));
+        return progress;
+    }
+
+    private void run(Predicate where, Consumer<JPAUpdateClause> setter, int chunkSize, long pauseMillis,
+                     BulkUpdateProgress progress) {
+        try {
+            for (long from = progress.getMinId(); from <= progress.getMaxId(); from += chunkSize) {
+                if (progress.isCancelled()) {
+                    break;
+                }
+                long to = Math.min(from + chunkSize - 1, progress.getMaxId());
+                long rows = updateChunk(where, setter, from, to);
+                progress.chunkDone(to, rows);
+                log.debug("bulk update chunk [{}, {}] rows={} progress={}", from, to, rows, progress.getRatio());
+
+                if (pauseMillis > 0 && to < progress.getMaxId()) {
+                    Thread.sleep(pauseMillis);
+                }
+            }
+            progress.getCompletion().complete(progress.getUpdatedRows());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            progress.getCompletion().completeExceptionally(e);
+        } catch (RuntimeException e) {
+            log.warn("bulk update failed after {} rows", progress.getUpdatedRows(), e);
+            progress.getCompletion().completeExceptionally(e);
+        }
+    }
+
+    private long updateChunk(Predicate where, Consumer<JPAUpdateClause> setter, long from, long to) {
+        Long rows = transactionTemplate.execute(status -> {
+            JPAUpdateClause clause = queryFactory
+                    .update(member)
+                    .where(where, member.id.between(from, to));
+            setter.accept(clause);
+            long count = clause.execute();
+            // 벌크 연산은 영속성 컨텍스트를 거치지 않으므로 비워준다. (2차 캐시는 하이버네이트가 무효화)
+            em.clear();
+            // 엔티티 리스너가 호출되지 않으므로 검색/카운트 캐시 무효화 이벤트를 직접 발행
+            eventPublisher.publishEvent(MemberChangedEvent.bulk());
+            return count;
+        });
+        return rows == null ? 0 : rows;
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+}
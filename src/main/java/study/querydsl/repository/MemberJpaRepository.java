@@ -1,19 +1,29 @@
 package study.querydsl.repository;
 
+import com.mysema.commons.lang.CloseableIterator;
 import com.querydsl.core.BooleanBuilder;
 import com.querydsl.core.types.Predicate;
 import com.querydsl.core.types.dsl.BooleanExpression;
+import com.querydsl.jpa.impl.JPAQuery;
 import com.querydsl.jpa.impl.JPAQueryFactory;
+import org.hibernate.jpa.QueryHints;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.util.Assert;
 import org.springframework.util.StringUtils;
 import study.querydsl.dto.MemberSearchCondition;
 import study.querydsl.dto.MemberTeamDto;
 import study.querydsl.dto.QMemberTeamDto;
 import study.querydsl.entity.Member;
+import study.querydsl.entity.event.MemberChangedEvent;
+import study.querydsl.repository.support.MemberSearchCache;
+import study.querydsl.repository.support.ReadOnlyQueries;
 
 import javax.persistence.EntityManager;
 import java.util.List;
 import java.util.Optional;
+import java.util.function.Consumer;
 
 import static study.querydsl.entity.QMember.member;
 import static study.querydsl.entity.QTeam.team;
@@ -29,11 +39,16 @@ public class MemberJpaRepository {
 
     private final EntityManager em;
     private final JPAQueryFactory queryFactory;
+    private final MemberSearchCache memberSearchCache;
+    private final ApplicationEventPublisher eventPublisher;
 
-    public MemberJpaRepository(EntityManager em) {
+    public MemberJpaRepository(EntityManager em, MemberSearchCache memberSearchCache,
+                               ApplicationEventPublisher eventPublisher) {
         this.em = em;
         // 빈으로 등록해서 사용해도 되고, 생성자 내부에서 새롭게 생성해주는 방식을 사용해도 됨
         this.queryFactory = new JPAQueryFactory(em);
+        this.memberSearchCache = memberSearchCache;
+        this.eventPublisher = eventPublisher;
     }
 
     public void save(Member member) {
@@ -62,6 +77,7 @@ public class MemberJpaRepository {
     public List<Member> findByUsername(String username) {
         return em.createQuery("select m from Member m where m.username = :username", Member.class)
                 .setParameter("username", username)
+                .setHint(QueryHints.HINT_CACHEABLE, true)
                 .getResultList();
     }
 
@@ -77,11 +93,12 @@ public class MemberJpaRepository {
      * @param condition
      * @return
      */
+    @Transactional(readOnly = true)
     public List<MemberTeamDto> searchByBuilder(MemberSearchCondition condition) {
 
         BooleanBuilder builder = new BooleanBuilder();
         if (StringUtils.hasText(condition.getUsername())) {
-            builder.and(member.username.eq(condition.getUsername()));
+            builder.and(usernameMatches(condition));
         }
         if (StringUtils.hasText(condition.getTeamName())) {
             builder.and(team.name.eq(condition.getTeamName()));
@@ -107,20 +124,26 @@ public class MemberJpaRepository {
 
     /**
      * Where 파라메터를 활용한 동적쿼리 + 성능최적화
+     * 동일한 조건의 결과는 MemberSearchCache 에 캐시된다.
+     * readOnly 트랜잭션이므로 라우팅 사용 시 레플리카에서 조회한다.
      * @param searchCondition
      * @return
      */
+    @Transactional(readOnly = true)
     public List<MemberTeamDto> search(MemberSearchCondition searchCondition) {
-        return queryFactory
+        return memberSearchCache.get(searchCondition, () -> searchFromDatabase(searchCondition));
+    }
+
+    private List<MemberTeamDto> searchFromDatabase(MemberSearchCondition searchCondition) {
+        return joinTeam(queryFactory
                 .select(new QMemberTeamDto(member.id.as("memberId"),
                         member.username,
                         member.age,
                         team.id.as("teamId"),
                         team.name))
-                .from(member)
-                .leftJoin(member.team, team)
+                .from(member), searchCondition.getTeamName())
                 .where(
-                        usernameEq(searchCondition.getUsername()),
+                        usernameMatches(searchCondition),
                         teamNameEq(searchCondition.getTeamName()),
                         ageGoe(searchCondition.getAgeGoe()),
                         ageLoe(searchCondition.getAgeLoe())
@@ -128,20 +151,107 @@ public class MemberJpaRepository {
                 .fetch();
     }
 
-    public List<Member> searchMember(MemberSearchCondition searchCondition) {
-        // select 프로젝션이 달라져도 조건절을 재사용할 수 있다.
-        return queryFactory
-                .selectFrom(member)
-                .leftJoin(member.team, team)
+    /**
+     * 대량 조회용 스트리밍
+     * 하이버네이트 ScrollableResults 로 fetchSize 만큼씩 DB 에서 가져오면서 한건씩 consumer 에 넘긴다.
+     * 결과 전체를 List 로 만들지 않기 때문에 건수와 상관없이 메모리 사용량이 일정하다.
+     * 스크롤하는 동안 커넥션을 유지해야 하므로 readOnly 트랜잭션 안에서 실행한다.
+     * @param searchCondition
+     * @param fetchSize JDBC fetch size
+     * @param clearInterval 몇건마다 영속성 컨텍스트를 비울지
+     * @param consumer
+     * @return 처리한 건수
+     */
+    @Transactional(readOnly = true)
+    public long searchStream(MemberSearchCondition searchCondition, int fetchSize, int clearInterval,
+                             Consumer<MemberTeamDto> consumer) {
+        Assert.isTrue(fetchSize > 0, "Fetch size must be greater than zero!");
+        Assert.isTrue(clearInterval > 0, "Clear interval must be greater than zero!");
+
+        long count = 0;
+        try (CloseableIterator<MemberTeamDto> iterator = joinTeam(queryFactory
+                .select(new QMemberTeamDto(member.id.as("memberId"),
+                        member.username,
+                        member.age,
+                        team.id.as("teamId"),
+                        team.name))
+                .from(member), searchCondition.getTeamName())
                 .where(
-                        usernameEq(searchCondition.getUsername()),
+                        usernameMatches(searchCondition),
                         teamNameEq(searchCondition.getTeamName()),
                         ageGoe(searchCondition.getAgeGoe()),
                         ageLoe(searchCondition.getAgeLoe())
                 )
+                .orderBy(member.id.asc())
+                .setHint(QueryHints.HINT_FETCH_SIZE, fetchSize)
+                .iterate()) {
+
+            while (iterator.hasNext()) {
+                consumer.accept(iterator.next());
+                if (++count % clearInterval == 0) {
+                    // DTO 조회라 관리되는 엔티티는 없지만, 스트리밍 도중 다른 로직이 로딩한 엔티티가 쌓이지 않도록 비워준다.
+                    em.clear();
+                }
+            }
+        }
+        return count;
+    }
+
+    @Transactional(readOnly = true)
+    public List<Member> searchMember(MemberSearchCondition searchCondition) {
+        // select 프로젝션이 달라져도 조건절을 재사용할 수 있다.
+        return searchMemberQuery(searchCondition)
                 .fetch();
     }
 
+    /**
+     * searchMember 의 읽기 전용 버전
+     * 스냅샷을 만들지 않고, 조회 전 flush 도 하지 않는다. (ReadOnlyQueries)
+     * 같은 트랜잭션에서 flush 되지 않은 변경은 보이지 않고, 반환된 엔티티를 수정해도 DB 에 반영되지 않는다.
+     * @param searchCondition
+     * @return
+     */
+    @Transactional(readOnly = true)
+    public List<Member> searchMemberReadOnly(MemberSearchCondition searchCondition) {
+        return ReadOnlyQueries.readOnly(searchMemberQuery(searchCondition))
+                .fetch();
+    }
+
+    private JPAQuery<Member> searchMemberQuery(MemberSearchCondition searchCondition) {
+        return joinTeam(queryFactory
+                .selectFrom(member), searchCondition.getTeamName())
+                .where(
+                        usernameMatches(searchCondition),
+                        teamNameEq(searchCondition.getTeamName()),
+                        ageGoe(searchCondition.getAgeGoe()),
+                        ageLoe(searchCondition.getAgeLoe())
+                );
+    }
+
+    /**
+     * 전체 회원 나이 벌크 증가
+     * 벌크 연산은 엔티티 리스너가 호출되지 않으므로 변경 이벤트를 직접 발행해 캐시를 무효화 한다.
+     * 영속성 컨텍스트와 DB 가 달라지므로 clear 해준다.
+     * 쓰기 트랜잭션이므로 라우팅 사용 시 항상 프라이머리에서 실행된다.
+     * @param amount
+     * @return 변경된 로우수
+     */
+    @Transactional
+    public long bulkAddAge(int amount) {
+        long count = queryFactory
+                .update(member)
+                .set(member.age, member.age.add(amount))
+                .execute();
+        em.clear();
+        eventPublisher.publishEvent(MemberChangedEvent.bulk());
+        return count;
+    }
+
+    // 팀명 조건이 있으면 팀이 없는 회원은 어차피 제외되므로 inner join 으로 바꿔서
+    // DB 가 team(idx_team_name) 부터 조인할 수 있게 한다. (teamNameEq, MemberSearchTemplates 와 같은 기준)
+    private static <T> JPAQuery<T> joinTeam(JPAQuery<T> query, String teamName) {
+        return StringUtils.isEmpty(teamName) ? query.leftJoin(member.team, team) : query.join(member.team, team);
+    }
 
     /*
         Predicate 보다는 BooleanExpression을 사용하는것이 좋다.
@@ -151,6 +261,22 @@ public class MemberJpaRepository {
         return StringUtils.isEmpty(username) ? null : member.username.eq(username);
     }
 
+    // 회원명 검색 방식(usernameMatch) 적용, 접두어/포함 검색은 메모리 인덱스 없이 like 로 조회한다.
+    private BooleanExpression usernameMatches(MemberSearchCondition searchCondition) {
+        String username = searchCondition.getUsername();
+        if (StringUtils.isEmpty(username)) {
+            return null;
+        }
+        switch (searchCondition.getUsernameMatchOrDefault()) {
+            case PREFIX:
+                return member.username.startsWith(username);
+            case CONTAINS:
+                return member.username.contains(username);
+            default:
+                return usernameEq(username);
+        }
+    }
+
     private BooleanExpression teamNameEq(String teamName) {
         return StringUtils.isEmpty(teamName) ? null : team.name.eq(teamName);
     }
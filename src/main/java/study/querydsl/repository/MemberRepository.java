@@ -1,9 +1,11 @@
 package study.querydsl.repository;
 
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.querydsl.QuerydslPredicateExecutor;
 import study.querydsl.entity.Member;
 
+import javax.persistence.QueryHint;
 import java.util.List;
 
 /**
@@ -14,5 +16,7 @@ import java.util.List;
  **/
 public interface MemberRepository extends JpaRepository<Member, Long>, MemberRepositoryCustom, QuerydslPredicateExecutor<Member> {
     // 메소드 명으로 쿼리생
+    // 쿼리 캐시 사용 (결과 id 목록만 캐시되고 엔티티는 2차 캐시에서 가져온다)
+    @QueryHints(@QueryHint(name = "org.hibernate.cacheable", value = "true"))
     List<Member> findByUsername(String username);
 }
@@ -2,8 +2,14 @@ package study.querydsl.repository;
 
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import study.querydsl.dto.AgeStatsDto;
+import study.querydsl.dto.CursorSlice;
 import study.querydsl.dto.MemberSearchCondition;
 import study.querydsl.dto.MemberTeamDto;
+import study.querydsl.entity.Member;
+import study.querydsl.repository.support.CountMode;
+import study.querydsl.repository.support.MemberFetchPlan;
 
 import java.util.List;
 
@@ -17,11 +23,38 @@ public interface MemberRepositoryCustom {
 
     List<MemberTeamDto> search(MemberSearchCondition condition);
 
+    // 미리 만들어둔 JPQL 템플릿으로 search 와 같은 결과 조회
+    List<MemberTeamDto> searchByTemplate(MemberSearchCondition condition);
+
     Page<MemberTeamDto> searchPageSimple(MemberSearchCondition condition, Pageable pageable);
 
     // 카운트 쿼리를 별도의 쿼리로 사용
     Page<MemberTeamDto> searchPageComplex(MemberSearchCondition condition, Pageable pageable);
 
+    // 컨텐츠 쿼리와 카운트 쿼리를 동시에 실행
+    Page<MemberTeamDto> searchPageComplexParallel(MemberSearchCondition condition, Pageable pageable);
+
     // 카운트 쿼리 최적화
     Page<MemberTeamDto> searchPageComplexOptimization(MemberSearchCondition searchCondition, Pageable pageable);
+
+    // 카운트 쿼리 캐시/추정치 사용
+    Page<MemberTeamDto> searchPageComplexOptimization(MemberSearchCondition searchCondition, Pageable pageable, CountMode countMode);
+
+    // id 만 먼저 페이징한 뒤 해당 id 들로 DTO 조회 (깊은 페이지 최적화)
+    Page<MemberTeamDto> searchPageIdFirst(MemberSearchCondition searchCondition, Pageable pageable, CountMode countMode);
+
+    // 카운트 쿼리 없이 다음 페이지 존재 여부만 확인
+    Slice<MemberTeamDto> searchSliceWithoutCount(MemberSearchCondition searchCondition, Pageable pageable);
+
+    // 키셋(커서) 페이징, offset 을 사용하지 않아 깊은 페이지도 일정한 속도
+    CursorSlice<MemberTeamDto> searchSlice(MemberSearchCondition condition, String cursor, int size);
+
+    // 엔티티 조회, 팀을 함께 가져올지 호출마다 선택
+    List<Member> searchMember(MemberSearchCondition condition, MemberFetchPlan fetchPlan);
+
+    // 전체 회원 나이 집계 (메모리 스냅샷, 없으면 DB)
+    AgeStatsDto ageStats();
+
+    // 팀명별 회원 나이 집계 (메모리 스냅샷, 없으면 DB)
+    List<AgeStatsDto> ageStatsByTeam();
 }
@@ -1,23 +1,50 @@
 package study.querydsl.repository;
 
 import com.querydsl.core.QueryResults;
+import com.querydsl.core.Tuple;
+import com.querydsl.core.types.Order;
+import com.querydsl.core.types.OrderSpecifier;
 import com.querydsl.core.types.dsl.BooleanExpression;
+import com.querydsl.core.types.dsl.NumberExpression;
 import com.querydsl.jpa.JPQLQuery;
 import com.querydsl.jpa.impl.JPAQuery;
 import com.querydsl.jpa.impl.JPAQueryFactory;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
+import org.springframework.data.domain.Sort;
 import org.springframework.data.jpa.repository.support.QuerydslRepositorySupport;
-import org.springframework.data.repository.support.PageableExecutionUtils;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.util.Assert;
 import org.springframework.util.StringUtils;
+import study.querydsl.dto.AgeStatsDto;
+import study.querydsl.dto.CursorSlice;
 import study.querydsl.dto.MemberSearchCondition;
 import study.querydsl.dto.MemberTeamDto;
 import study.querydsl.dto.QMemberTeamDto;
+import study.querydsl.dto.UsernameMatch;
 import study.querydsl.entity.Member;
+import study.querydsl.repository.support.CountMode;
+import study.querydsl.repository.support.InvalidSearchException;
+import study.querydsl.repository.support.MemberAgeSnapshot;
+import study.querydsl.repository.support.MemberCountCache;
+import study.querydsl.repository.support.MemberCursor;
+import study.querydsl.repository.support.MemberFetchPlan;
+import study.querydsl.repository.support.MemberSearchCache;
+import study.querydsl.repository.support.MemberSearchTemplates;
+import study.querydsl.repository.support.MemberUsernameIndex;
+import study.querydsl.repository.support.ParallelCountExecutor;
+import study.querydsl.repository.support.QuerydslJoinPruner;
 
 import javax.persistence.EntityManager;
+import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
 
 import static study.querydsl.entity.QMember.member;
 import static study.querydsl.entity.QTeam.team;
@@ -29,27 +56,50 @@ import static study.querydsl.entity.QTeam.team;
  * Time: 22:06
  **/
 // +Impl 이라는 접미사를 사용해주어야 한다.
+// 조회 전용이므로 readOnly 트랜잭션 (라우팅 사용 시 레플리카에서 조회)
+@Transactional(readOnly = true)
 public class MemberRepositoryImpl extends QuerydslRepositorySupport implements MemberRepositoryCustom {
 
+    // 키셋 페이징 한 페이지의 최대 크기, 넘으면 400 (InvalidSearchException)
+    private static final int MAX_SLICE_SIZE = 1000;
+
+    // 나이 합계는 int 범위를 넘을 수 있으므로 long 으로 변환해서 합산한다. (MemberAgeColumns 와 같은 기준)
+    private static final NumberExpression<Long> AGE_SUM = member.age.castToNum(Long.class).sum();
+
     private final JPAQueryFactory queryFactory;
+    private final MemberCountCache memberCountCache;
+    private final MemberSearchCache memberSearchCache;
+    private final ParallelCountExecutor parallelCountExecutor;
+    private final MemberUsernameIndex memberUsernameIndex;
+    private final MemberAgeSnapshot memberAgeSnapshot;
 
-    public MemberRepositoryImpl(EntityManager em) {
+    public MemberRepositoryImpl(EntityManager em, MemberCountCache memberCountCache, MemberSearchCache memberSearchCache,
+                                ParallelCountExecutor parallelCountExecutor, MemberUsernameIndex memberUsernameIndex,
+                                MemberAgeSnapshot memberAgeSnapshot) {
         super(Member.class);
         this.queryFactory = new JPAQueryFactory(em);
+        this.memberCountCache = memberCountCache;
+        this.memberSearchCache = memberSearchCache;
+        this.parallelCountExecutor = parallelCountExecutor;
+        this.memberUsernameIndex = memberUsernameIndex;
+        this.memberAgeSnapshot = memberAgeSnapshot;
     }
 
     @Override
     public List<MemberTeamDto> search(MemberSearchCondition searchCondition) {
-        return queryFactory
+        return memberSearchCache.get(searchCondition, () -> searchFromDatabase(searchCondition));
+    }
+
+    private List<MemberTeamDto> searchFromDatabase(MemberSearchCondition searchCondition) {
+        return joinTeam(queryFactory
                 .select(new QMemberTeamDto(member.id.as("memberId"),
                         member.username,
                         member.age,
                         team.id.as("teamId"),
                         team.name))
-                .from(member)
-                .leftJoin(member.team, team)
+                .from(member), searchCondition.getTeamName())
                 .where(
-                        usernameEq(searchCondition.getUsername()),
+                        usernameMatches(searchCondition),
                         teamNameEq(searchCondition.getTeamName()),
                         ageGoe(searchCondition.getAgeGoe()),
                         ageLoe(searchCondition.getAgeLoe())
@@ -57,18 +107,31 @@ public class MemberRepositoryImpl extends QuerydslRepositorySupport implements M
                 .fetch();
     }
 
+    /**
+     * Querydsl 로 쿼리를 매번 만드는 대신 조건 조합별로 미리 만든 JPQL 에 파라미터만 바인딩
+     * 템플릿은 회원명 일치 검색만 있으므로 접두어/포함 검색은 search 로 처리한다.
+     * @param searchCondition
+     * @return
+     */
+    @Override
+    public List<MemberTeamDto> searchByTemplate(MemberSearchCondition searchCondition) {
+        if (searchCondition.getUsernameMatchOrDefault() != UsernameMatch.EXACT) {
+            return search(searchCondition);
+        }
+        return MemberSearchTemplates.search(getEntityManager(), searchCondition);
+    }
+
     @Override
     public Page<MemberTeamDto> searchPageSimple(MemberSearchCondition searchCondition, Pageable pageable) {
-        QueryResults<MemberTeamDto> results = queryFactory
+        QueryResults<MemberTeamDto> results = joinTeam(queryFactory
                 .select(new QMemberTeamDto(member.id.as("memberId"),
                         member.username,
                         member.age,
                         team.id.as("teamId"),
                         team.name))
-                .from(member)
-                .leftJoin(member.team, team)
+                .from(member), searchCondition.getTeamName())
                 .where(
-                        usernameEq(searchCondition.getUsername()),
+                        usernameMatches(searchCondition),
                         teamNameEq(searchCondition.getTeamName()),
                         ageGoe(searchCondition.getAgeGoe()),
                         ageLoe(searchCondition.getAgeLoe())
@@ -94,16 +157,15 @@ public class MemberRepositoryImpl extends QuerydslRepositorySupport implements M
      */
     @Override
     public Page<MemberTeamDto> searchPageComplex(MemberSearchCondition searchCondition, Pageable pageable) {
-        List<MemberTeamDto> content = queryFactory
+        List<MemberTeamDto> content = joinTeam(queryFactory
                 .select(new QMemberTeamDto(member.id.as("memberId"),
                         member.username,
                         member.age,
                         team.id.as("teamId"),
                         team.name))
-                .from(member)
-                .leftJoin(member.team, team)
+                .from(member), searchCondition.getTeamName())
                 .where(
-                        usernameEq(searchCondition.getUsername()),
+                        usernameMatches(searchCondition),
                         teamNameEq(searchCondition.getTeamName()),
                         ageGoe(searchCondition.getAgeGoe()),
                         ageLoe(searchCondition.getAgeLoe())
@@ -113,31 +175,160 @@ public class MemberRepositoryImpl extends QuerydslRepositorySupport implements M
                 .fetch();
 
         // count 쿼리에서 성능최적화를 할 수있다.
-        // 조인수를 줄이는 등..
-        long totalCount = queryFactory
-                .select(member)
-                .from(member)
-                .leftJoin(member.team, team)
+        // 조인수를 줄이는 등.. -> teamName 조건이 없으면 팀 조인은 제거된다. (QuerydslJoinPruner)
+        long totalCount = QuerydslJoinPruner.prune(countQuery(searchCondition), queryFactory)
+                .fetchCount();
+
+        return new PageImpl<>(content, pageable, totalCount);
+    }
+
+    /**
+     * searchPageComplex 와 같은 쿼리를 컨텐츠/카운트 동시에 실행
+     * 카운트 쿼리는 별도 스레드, 별도 EntityManager 에서 실행되므로 EntityManager 를 공유하지 않도록
+     * 넘겨받은 factory 로 쿼리를 만든다.
+     * @param searchCondition
+     * @param pageable
+     * @return
+     */
+    @Override
+    public Page<MemberTeamDto> searchPageComplexParallel(MemberSearchCondition searchCondition, Pageable pageable) {
+        return parallelCountExecutor.getPage(queryFactory, pageable,
+                factory -> joinTeam(factory
+                        .select(new QMemberTeamDto(member.id.as("memberId"),
+                                member.username,
+                                member.age,
+                                team.id.as("teamId"),
+                                team.name))
+                        .from(member), searchCondition.getTeamName())
+                        .where(
+                                usernameMatches(searchCondition),
+                                teamNameEq(searchCondition.getTeamName()),
+                                ageGoe(searchCondition.getAgeGoe()),
+                                ageLoe(searchCondition.getAgeLoe())
+                        )
+                        .offset(pageable.getOffset())
+                        .limit(pageable.getPageSize())
+                        .fetch(),
+                factory -> QuerydslJoinPruner.prune(joinTeam(factory
+                        .select(member)
+                        .from(member), searchCondition.getTeamName())
+                        .where(
+                                usernameMatches(searchCondition),
+                                teamNameEq(searchCondition.getTeamName()),
+                                ageGoe(searchCondition.getAgeGoe()),
+                                ageLoe(searchCondition.getAgeLoe())
+                        ), factory));
+    }
+
+    /**
+     * Count 쿼리 최적화
+     * @param searchCondition
+     * @param pageable
+     * @return
+     */
+    @Override
+    public Page<MemberTeamDto> searchPageComplexOptimization(MemberSearchCondition searchCondition, Pageable pageable) {
+        return searchPageComplexOptimization(searchCondition, pageable, CountMode.EXACT);
+    }
+
+    /**
+     * Count 쿼리 최적화 + 카운트 캐시
+     * 마지막 페이지면 count 쿼리를 생략하고, 그 외에는 countMode 에 따라 캐시/추정치를 사용한다.
+     * @param searchCondition
+     * @param pageable
+     * @param countMode
+     * @return
+     */
+    @Override
+    public Page<MemberTeamDto> searchPageComplexOptimization(MemberSearchCondition searchCondition, Pageable pageable, CountMode countMode) {
+        List<MemberTeamDto> content = joinTeam(queryFactory
+                .select(new QMemberTeamDto(member.id.as("memberId"),
+                        member.username,
+                        member.age,
+                        team.id.as("teamId"),
+                        team.name))
+                .from(member), searchCondition.getTeamName())
                 .where(
-                        usernameEq(searchCondition.getUsername()),
+                        usernameMatches(searchCondition),
                         teamNameEq(searchCondition.getTeamName()),
                         ageGoe(searchCondition.getAgeGoe()),
                         ageLoe(searchCondition.getAgeLoe())
                 )
-                .fetchCount();
+                .offset(pageable.getOffset())
+                .limit(pageable.getPageSize())
+                .fetch();
 
-        return new PageImpl<>(content, pageable, totalCount);
+        // 팀 조인은 teamName 조건이 있을때만 남는다.
+        JPAQuery<Member> countQuery = QuerydslJoinPruner.prune(countQuery(searchCondition), queryFactory);
+
+        return memberCountCache.getPage(content, pageable, searchCondition, countMode, countQuery::fetchCount);
     }
 
     /**
-     * Count 쿼리 최적화
+     * ID 우선 2단계 페이징
+     * 1. 조건에 맞는 member.id 만 offset/limit 으로 조회 (인덱스만으로 처리되는 좁은 쿼리, 팀 조인은 팀 조건이 있을때만)
+     * 2. 해당 id 들만 in (...) 으로 팀과 조인해서 DTO 조회 후 1의 순서대로 정렬
+     * offset 만큼 건너뛰는 로우가 넓은 DTO 로우가 아니라 id 뿐이므로 깊은 페이지일수록 유리하다.
+     * 페이지 순서는 pageable 의 정렬(memberId, username, age) + member.id 오름차순
      * @param searchCondition
      * @param pageable
+     * @param countMode
      * @return
      */
     @Override
-    public Page<MemberTeamDto> searchPageComplexOptimization(MemberSearchCondition searchCondition, Pageable pageable) {
-        List<MemberTeamDto> content = queryFactory
+    public Page<MemberTeamDto> searchPageIdFirst(MemberSearchCondition searchCondition, Pageable pageable, CountMode countMode) {
+        JPAQuery<Long> idQuery = queryFactory
+                .select(member.id)
+                .from(member);
+        // teamNameEq 와 같은 기준이어야 한다. (공백 팀명도 조건으로 사용)
+        if (!StringUtils.isEmpty(searchCondition.getTeamName())) {
+            idQuery.join(member.team, team);
+        }
+        List<Long> ids = idQuery
+                .where(
+                        usernameMatches(searchCondition),
+                        teamNameEq(searchCondition.getTeamName()),
+                        ageGoe(searchCondition.getAgeGoe()),
+                        ageLoe(searchCondition.getAgeLoe())
+                )
+                .orderBy(idFirstOrder(pageable.getSort()))
+                .offset(pageable.getOffset())
+                .limit(pageable.getPageSize())
+                .fetch();
+
+        List<MemberTeamDto> content = ids.isEmpty() ? new ArrayList<>() : hydrate(ids);
+
+        JPAQuery<Member> countQuery = QuerydslJoinPruner.prune(countQuery(searchCondition), queryFactory);
+
+        return memberCountCache.getPage(content, pageable, searchCondition, countMode, countQuery::fetchCount);
+    }
+
+    // id 조회 쿼리는 회원 테이블만 읽으므로 회원 컬럼으로만 정렬할 수 있다. 같은 값은 member.id 순서
+    private OrderSpecifier<?>[] idFirstOrder(Sort sort) {
+        List<OrderSpecifier<?>> orders = new ArrayList<>();
+        for (Sort.Order order : sort) {
+            Order direction = order.isAscending() ? Order.ASC : Order.DESC;
+            switch (order.getProperty()) {
+                case "memberId":
+                    orders.add(new OrderSpecifier<>(direction, member.id));
+                    break;
+                case "username":
+                    orders.add(new OrderSpecifier<>(direction, member.username));
+                    break;
+                case "age":
+                    orders.add(new OrderSpecifier<>(direction, member.age));
+                    break;
+                default:
+                    throw new InvalidSearchException("Unsupported sort property: " + order.getProperty());
+            }
+        }
+        orders.add(member.id.asc());
+        return orders.toArray(new OrderSpecifier<?>[0]);
+    }
+
+    // ids 순서대로 DTO 조회 (in 절 파라미터 수는 in_clause_parameter_padding 으로 2의 제곱수로 맞춰진다)
+    private List<MemberTeamDto> hydrate(List<Long> ids) {
+        List<MemberTeamDto> rows = queryFactory
                 .select(new QMemberTeamDto(member.id.as("memberId"),
                         member.username,
                         member.age,
@@ -145,27 +336,172 @@ public class MemberRepositoryImpl extends QuerydslRepositorySupport implements M
                         team.name))
                 .from(member)
                 .leftJoin(member.team, team)
+                .where(member.id.in(ids))
+                .fetch();
+
+        Map<Long, MemberTeamDto> rowById = new HashMap<>(rows.size() * 2);
+        for (MemberTeamDto row : rows) {
+            rowById.put(row.getMemberId(), row);
+        }
+        List<MemberTeamDto> content = new ArrayList<>(ids.size());
+        for (Long id : ids) {
+            MemberTeamDto row = rowById.get(id);
+            // 두 쿼리 사이에 삭제된 회원은 제외
+            if (row != null) {
+                content.add(row);
+            }
+        }
+        return content;
+    }
+
+    /**
+     * count 쿼리를 아예 실행하지 않는 Slice 조회
+     * pageSize + 1 건을 조회해서 다음 페이지 존재 여부만 판단한다.
+     * @param searchCondition
+     * @param pageable
+     * @return
+     */
+    @Override
+    public Slice<MemberTeamDto> searchSliceWithoutCount(MemberSearchCondition searchCondition, Pageable pageable) {
+        List<MemberTeamDto> content = joinTeam(queryFactory
+                .select(new QMemberTeamDto(member.id.as("memberId"),
+                        member.username,
+                        member.age,
+                        team.id.as("teamId"),
+                        team.name))
+                .from(member), searchCondition.getTeamName())
                 .where(
-                        usernameEq(searchCondition.getUsername()),
+                        usernameMatches(searchCondition),
                         teamNameEq(searchCondition.getTeamName()),
                         ageGoe(searchCondition.getAgeGoe()),
                         ageLoe(searchCondition.getAgeLoe())
                 )
                 .offset(pageable.getOffset())
-                .limit(pageable.getPageSize())
+                .limit(pageable.getPageSize() + 1)
                 .fetch();
 
-        JPAQuery<Member> countQuery = queryFactory
-                .select(member)
-                .from(member)
+        boolean hasNext = content.size() > pageable.getPageSize();
+        if (hasNext) {
+            content = content.subList(0, pageable.getPageSize());
+        }
+        memberCountCache.recordSkipped();
+        return new SliceImpl<>(content, pageable, hasNext);
+    }
+
+    /**
+     * 키셋(seek) 페이징
+     * offset 대신 마지막으로 읽은 member.id 이후부터 PK 인덱스를 타고 읽기 때문에
+     * 페이지가 깊어져도 스캔량이 늘어나지 않는다.
+     * 다음 페이지 존재 여부는 size + 1 건을 조회해서 판단한다. (카운트 쿼리 없음)
+     * @param searchCondition
+     * @param cursor 이전 응답의 nextCursor, 첫 페이지는 null
+     * @param size 1 ~ MAX_SLICE_SIZE
+     * @return
+     */
+    @Override
+    public CursorSlice<MemberTeamDto> searchSlice(MemberSearchCondition searchCondition, String cursor, int size) {
+        if (size <= 0 || size > MAX_SLICE_SIZE) {
+            throw new InvalidSearchException("Size must be between 1 and " + MAX_SLICE_SIZE + ": " + size);
+        }
+        Long lastMemberId = MemberCursor.decode(cursor);
+
+        List<MemberTeamDto> content = joinTeam(queryFactory
+                .select(new QMemberTeamDto(member.id.as("memberId"),
+                        member.username,
+                        member.age,
+                        team.id.as("teamId"),
+                        team.name))
+                .from(member), searchCondition.getTeamName())
                 .where(
-                        usernameEq(searchCondition.getUsername()),
+                        memberIdGt(lastMemberId),
+                        usernameMatches(searchCondition),
+                        teamNameEq(searchCondition.getTeamName()),
+                        ageGoe(searchCondition.getAgeGoe()),
+                        ageLoe(searchCondition.getAgeLoe())
+                )
+                .orderBy(member.id.asc())
+                .limit(size + 1)
+                .fetch();
+
+        boolean hasNext = content.size() > size;
+        if (hasNext) {
+            content = content.subList(0, size);
+        }
+        String nextCursor = hasNext ? MemberCursor.encode(content.get(size - 1).getMemberId()) : null;
+        return new CursorSlice<>(content, size, hasNext, nextCursor);
+    }
+
+    /**
+     * 엔티티 조회
+     * MEMBER 는 팀을 지연로딩(배치 페치), MEMBER_TEAM 은 엔티티 그래프로 팀까지 한번에 가져온다.
+     * 어느쪽이든 회원 수와 상관없이 쿼리 수가 제한된다.
+     * @param searchCondition
+     * @param fetchPlan
+     * @return
+     */
+    @Override
+    public List<Member> searchMember(MemberSearchCondition searchCondition, MemberFetchPlan fetchPlan) {
+        Assert.notNull(fetchPlan, "Fetch plan must not be null!");
+        JPAQuery<Member> query = joinTeam(queryFactory
+                .selectFrom(member), searchCondition.getTeamName())
+                .where(
+                        usernameMatches(searchCondition),
                         teamNameEq(searchCondition.getTeamName()),
                         ageGoe(searchCondition.getAgeGoe()),
                         ageLoe(searchCondition.getAgeLoe())
                 );
+        return fetchPlan.apply(query, getEntityManager()).fetch();
+    }
+
+    /**
+     * 전체 회원 나이 집계
+     * 메모리 스냅샷(MemberAgeSnapshot)이 준비되어 있으면 DB 를 조회하지 않는다.
+     * @return
+     */
+    @Override
+    public AgeStatsDto ageStats() {
+        return memberAgeSnapshot.total().orElseGet(() -> {
+            Tuple row = queryFactory
+                    .select(member.count(),
+                            AGE_SUM,
+                            member.age.avg(),
+                            member.age.max(),
+                            member.age.min())
+                    .from(member)
+                    .fetchOne();
+            return new AgeStatsDto(null, row.get(member.count()), row.get(AGE_SUM),
+                    row.get(member.age.avg()), row.get(member.age.max()), row.get(member.age.min()));
+        });
+    }
 
-        return PageableExecutionUtils.getPage(content, pageable,  countQuery::fetchCount);
+    /**
+     * 팀명별 회원 나이 집계 (팀이 없는 회원 제외), 팀명 순서
+     * 메모리 스냅샷(MemberAgeSnapshot)이 준비되어 있으면 DB 를 조회하지 않는다.
+     * @return
+     */
+    @Override
+    public List<AgeStatsDto> ageStatsByTeam() {
+        return memberAgeSnapshot.byTeamName().orElseGet(() -> {
+            List<Tuple> rows = queryFactory
+                    .select(team.name,
+                            member.count(),
+                            AGE_SUM,
+                            member.age.avg(),
+                            member.age.max(),
+                            member.age.min())
+                    .from(member)
+                    .join(member.team, team)
+                    .groupBy(team.name)
+                    .orderBy(team.name.asc())
+                    .fetch();
+            List<AgeStatsDto> result = new ArrayList<>(rows.size());
+            for (Tuple row : rows) {
+                result.add(new AgeStatsDto(row.get(team.name), row.get(member.count()),
+                        row.get(AGE_SUM), row.get(member.age.avg()),
+                        row.get(member.age.max()), row.get(member.age.min())));
+            }
+            return result;
+        });
     }
 
     public Page<MemberTeamDto> searchPageSimple2(MemberSearchCondition searchCondition, Pageable pageable) {
@@ -175,7 +511,7 @@ public class MemberRepositoryImpl extends QuerydslRepositorySupport implements M
         JPQLQuery<MemberTeamDto> query = from(member)
                 .leftJoin(member.team, team)
                 .where(
-                        usernameEq(searchCondition.getUsername()),
+                        usernameMatches(searchCondition),
                         teamNameEq(searchCondition.getTeamName()),
                         ageGoe(searchCondition.getAgeGoe()),
                         ageLoe(searchCondition.getAgeLoe())
@@ -192,8 +528,49 @@ public class MemberRepositoryImpl extends QuerydslRepositorySupport implements M
         return new PageImpl<>(content, pageable, totalCount);
     }
 
-    private BooleanExpression usernameEq(String username) {
-        return StringUtils.isEmpty(username) ? null : member.username.eq(username);
+    // 페이징 count 쿼리, 필요없는 팀 조인은 QuerydslJoinPruner 로 제거해서 사용한다.
+    private JPAQuery<Member> countQuery(MemberSearchCondition searchCondition) {
+        return joinTeam(queryFactory
+                .select(member)
+                .from(member), searchCondition.getTeamName())
+                .where(
+                        usernameMatches(searchCondition),
+                        teamNameEq(searchCondition.getTeamName()),
+                        ageGoe(searchCondition.getAgeGoe()),
+                        ageLoe(searchCondition.getAgeLoe())
+                );
+    }
+
+    // 팀명 조건이 있으면 팀이 없는 회원은 어차피 제외되므로 inner join 으로 바꿔서
+    // DB 가 team(idx_team_name) 부터 조인할 수 있게 한다. (teamNameEq, MemberSearchTemplates 와 같은 기준)
+    private static <T> JPAQuery<T> joinTeam(JPAQuery<T> query, String teamName) {
+        return StringUtils.isEmpty(teamName) ? query.leftJoin(member.team, team) : query.join(member.team, team);
+    }
+
+    private BooleanExpression memberIdGt(Long lastMemberId) {
+        return lastMemberId == null ? null : member.id.gt(lastMemberId);
+    }
+
+    /**
+     * 회원명 조건
+     * 접두어/포함 검색은 like 'x%' / like '%x%' 대신 메모리 인덱스(MemberUsernameIndex)에서 찾은 id 로 조회한다.
+     * 인덱스를 사용할 수 없으면 (로딩중, 쓰기 트랜잭션, 결과가 너무 많음) like 로 조회
+     */
+    private BooleanExpression usernameMatches(MemberSearchCondition searchCondition) {
+        String username = searchCondition.getUsername();
+        if (StringUtils.isEmpty(username)) {
+            return null;
+        }
+        UsernameMatch match = searchCondition.getUsernameMatchOrDefault();
+        if (match == UsernameMatch.EXACT) {
+            return member.username.eq(username);
+        }
+        Optional<Set<Long>> ids = memberUsernameIndex.find(match, username);
+        if (ids.isPresent()) {
+            // 빈 in () 은 DB 에 따라 문법 오류이므로 결과가 없으면 항상 거짓인 조건
+            return ids.get().isEmpty() ? member.id.isNull() : member.id.in(ids.get());
+        }
+        return match == UsernameMatch.PREFIX ? member.username.startsWith(username) : member.username.contains(username);
     }
 
     private BooleanExpression teamNameEq(String teamName) {
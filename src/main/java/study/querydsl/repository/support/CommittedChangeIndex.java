@@ -0,0 +1,183 @@
+package study.querydsl.repository.support;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronizationAdapter;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import study.querydsl.entity.event.ChangeType;
+import study.querydsl.entity.event.EntityChangedEvent;
+
+import javax.annotation.PreDestroy;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Created by IntelliJ IDEA.
+ * User: june
+ * Date: 2026-10-17
+ * Time: 23:40
+ **/
+// DB 데이터로 만든 메모리 인덱스의 공통 로직 (MemberUsernameIndex, MemberAgeSnapshot)
+// - 기동 후 별도 스레드에서 readOnly 트랜잭션으로 전체를 읽어서 만들고, 이후에는 커밋된 변경 이벤트로 갱신한다.
+// - 벌크 연산은 어떤 엔티티가 바뀌었는지 알 수 없으므로 인덱스를 버리고 다시 만든다.
+// - 로딩중에 커밋된 변경은 모아뒀다가 새 인덱스에 다시 적용한다.
+@Slf4j
+public abstract class CommittedChangeIndex<T> {
+
+    private final String name;
+    private final TransactionTemplate transactionTemplate;
+    private final boolean enabled;
+    private final ExecutorService loader;
+
+    private final Object lock = new Object();
+    // null 이면 아직 준비되지 않음
+    private volatile T index;
+    // 아래 두 필드는 lock 으로 보호
+    private boolean loading;
+    private List<EntityChangedEvent> pending;
+
+    protected CommittedChangeIndex(String name, PlatformTransactionManager transactionManager, boolean enabled) {
+        this.name = name;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.transactionTemplate.setReadOnly(true);
+        this.enabled = enabled;
+        this.loader = Executors.newSingleThreadExecutor(runnable -> {
+            Thread thread = new Thread(runnable, name + "-loader");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /**
+     * readOnly 트랜잭션 안에서 호출된다.
+     */
+    protected abstract T load();
+
+    protected abstract boolean supports(EntityChangedEvent event);
+
+    // BULK 를 제외한 변경 적용, 조회와 동시에 호출될 수 있다.
+    protected abstract void apply(T target, EntityChangedEvent event);
+
+    /**
+     * 쓰기 트랜잭션 안에서는 커밋되지 않은 변경이 인덱스에 없으므로 사용하지 않는다. (SharedCacheSupport)
+     * @return 사용할 수 없으면 null
+     */
+    protected T usable() {
+        return SharedCacheSupport.isUsable() ? index : null;
+    }
+
+    public boolean isReady() {
+        return index != null;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void onReady() {
+        if (enabled) {
+            synchronized (lock) {
+                requestReload();
+            }
+        }
+    }
+
+    /**
+     * 롤백될 수 있으므로 커밋된 뒤에 반영한다.
+     * MemberDataVersion 과 마찬가지로 트랜잭션당 하나의 TransactionSynchronization 에 모아둔다.
+     */
+    @EventListener
+    public void onChange(EntityChangedEvent event) {
+        if (!enabled || !supports(event)) {
+            return;
+        }
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            applyCommitted(event);
+            return;
+        }
+        @SuppressWarnings("unchecked")
+        List<EntityChangedEvent> events = (List<EntityChangedEvent>) TransactionSynchronizationManager.getResource(this);
+        if (events == null) {
+            List<EntityChangedEvent> bound = new ArrayList<>();
+            TransactionSynchronizationManager.bindResource(this, bound);
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronizationAdapter() {
+                @Override
+                public void afterCommit() {
+                    bound.forEach(CommittedChangeIndex.this::applyCommitted);
+                }
+
+                @Override
+                public void afterCompletion(int status) {
+                    TransactionSynchronizationManager.unbindResourceIfPossible(CommittedChangeIndex.this);
+                }
+            });
+            events = bound;
+        }
+        events.add(event);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        loader.shutdownNow();
+    }
+
+    private void applyCommitted(EntityChangedEvent event) {
+        synchronized (lock) {
+            if (pending != null) {
+                pending.add(event);
+            }
+            if (event.getType() == ChangeType.BULK) {
+                index = null;
+                requestReload();
+            } else if (index != null) {
+                apply(index, event);
+            }
+        }
+    }
+
+    // lock 을 잡은 상태에서 호출, 이미 로딩중이면 로딩이 끝날때 pending 의 BULK 를 보고 다시 로딩한다.
+    private void requestReload() {
+        if (!loading) {
+            loading = true;
+            loader.execute(this::reload);
+        }
+    }
+
+    private void reload() {
+        try {
+            boolean again;
+            do {
+                synchronized (lock) {
+                    pending = new ArrayList<>();
+                }
+                long start = System.nanoTime();
+                T loaded = transactionTemplate.execute(status -> load());
+                synchronized (lock) {
+                    again = false;
+                    for (EntityChangedEvent event : pending) {
+                        if (event.getType() == ChangeType.BULK) {
+                            again = true;
+                        } else {
+                            apply(loaded, event);
+                        }
+                    }
+                    pending = null;
+                    if (!again) {
+                        index = loaded;
+                        loading = false;
+                    }
+                }
+                log.info("{}: loaded in {} ms", name, (System.nanoTime() - start) / 1_000_000);
+            } while (again);
+        } catch (RuntimeException e) {
+            // 다음 BULK 변경때 다시 시도, 그 전까지는 DB 조회
+            log.warn("{}: load failed", name, e);
+            synchronized (lock) {
+                pending = null;
+                loading = false;
+            }
+        }
+    }
+}
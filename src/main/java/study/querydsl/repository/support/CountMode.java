@@ -0,0 +1,17 @@
+package study.querydsl.repository.support;
+
+/**
+ * Created by IntelliJ IDEA.
+ * User: june
+ * Date: 2026-10-17
+ * Time: 11:02
+ **/
+// 페이징 조회시 전체 건수를 구하는 방식
+public enum CountMode {
+    // 매번 count 쿼리 실행
+    EXACT,
+    // 검색조건별로 캐시된 건수 사용 (TTL 동안)
+    CACHED,
+    // 조건이 없으면 DB 통계의 추정치, 조건이 있으면 CACHED 와 동일
+    ESTIMATED
+}
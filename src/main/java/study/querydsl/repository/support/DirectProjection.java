@@ -0,0 +1,62 @@
+package study.querydsl.repository.support;
+
+import com.querydsl.core.types.Expression;
+import com.querydsl.core.types.FactoryExpressionBase;
+import com.querydsl.core.types.Visitor;
+import org.springframework.util.Assert;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * Created by IntelliJ IDEA.
+ * User: june
+ * Date: 2026-10-17
+ * Time: 19:50
+ **/
+// 리플렉션 없이 람다(생성자 호출)로 DTO 를 만드는 프로젝션
+// Projections.bean/fields 는 로우마다 setter/필드를 리플렉션으로 채우고,
+// Projections.constructor 와 @QueryProjection(QDto) 도 Constructor.newInstance 로 생성한다.
+// 이 프로젝션은 생성자를 직접 호출하므로 리플렉션 비용이 없고 JIT 인라이닝 대상이 된다.
+public final class DirectProjection<T> extends FactoryExpressionBase<T> {
+
+    private static final long serialVersionUID = 1L;
+
+    private final List<Expression<?>> args;
+    private final Function<Object[], ? extends T> factory;
+
+    private DirectProjection(Class<? extends T> type, Function<Object[], ? extends T> factory, Expression<?>... args) {
+        super(type);
+        Assert.notNull(factory, "Factory must not be null!");
+        Assert.notEmpty(args, "Args must not be empty!");
+        this.factory = factory;
+        this.args = Collections.unmodifiableList(Arrays.asList(args));
+    }
+
+    /**
+     * @param type DTO 타입
+     * @param factory args 순서대로 전달된 값으로 DTO 생성
+     * @param args select 할 표현식
+     */
+    public static <T> DirectProjection<T> of(Class<? extends T> type, Function<Object[], ? extends T> factory,
+                                             Expression<?>... args) {
+        return new DirectProjection<>(type, factory, args);
+    }
+
+    @Override
+    public List<Expression<?>> getArgs() {
+        return args;
+    }
+
+    @Override
+    public T newInstance(Object... values) {
+        return factory.apply(values);
+    }
+
+    @Override
+    public <R, C> R accept(Visitor<R, C> v, C context) {
+        return v.visit(this, context);
+    }
+}
@@ -0,0 +1,47 @@
+package study.querydsl.repository.support;
+
+import com.querydsl.core.types.Expression;
+import study.querydsl.dto.MemberDto;
+import study.querydsl.dto.MemberTeamDto;
+import study.querydsl.dto.UserDto;
+
+/**
+ * Created by IntelliJ IDEA.
+ * User: june
+ * Date: 2026-10-17
+ * Time: 19:55
+ **/
+// study.querydsl.dto 의 DTO 별 DirectProjection
+// QDto(@QueryProjection) 처럼 파라미터 타입이 고정되어 컴파일 시점에 검증되고, DTO 는 Querydsl 에 의존하지 않는다.
+public final class DtoProjections {
+
+    private DtoProjections() {
+    }
+
+    public static DirectProjection<MemberDto> memberDto(Expression<String> username, Expression<Integer> age) {
+        return DirectProjection.of(MemberDto.class,
+                args -> new MemberDto((String) args[0], toInt(args[1])),
+                username, age);
+    }
+
+    public static DirectProjection<UserDto> userDto(Expression<String> name, Expression<Integer> age) {
+        return DirectProjection.of(UserDto.class,
+                args -> new UserDto((String) args[0], toInt(args[1])),
+                name, age);
+    }
+
+    public static DirectProjection<MemberTeamDto> memberTeamDto(Expression<Long> memberId,
+                                                                Expression<String> username,
+                                                                Expression<Integer> age,
+                                                                Expression<Long> teamId,
+                                                                Expression<String> teamName) {
+        return DirectProjection.of(MemberTeamDto.class,
+                args -> new MemberTeamDto((Long) args[0], (String) args[1], toInt(args[2]), (Long) args[3], (String) args[4]),
+                memberId, username, age, teamId, teamName);
+    }
+
+    // 서브쿼리/집계 결과는 Integer 가 아닐 수 있다.
+    private static int toInt(Object value) {
+        return value == null ? 0 : ((Number) value).intValue();
+    }
+}
@@ -0,0 +1,23 @@
+package study.querydsl.repository.support;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+/**
+ * Created by IntelliJ IDEA.
+ * User: june
+ * Date: 2026-10-17
+ * Time: 23:59
+ **/
+// 클라이언트가 보낸 검색 파라미터(커서, 정렬 등)가 잘못된 경우, API 에서는 400 으로 응답한다.
+@ResponseStatus(HttpStatus.BAD_REQUEST)
+public class InvalidSearchException extends IllegalArgumentException {
+
+    public InvalidSearchException(String message) {
+        super(message);
+    }
+
+    public InvalidSearchException(String message, Throwable cause) {
+        super(message, cause);
+    }
+}
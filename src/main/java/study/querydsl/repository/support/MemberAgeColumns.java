@@ -0,0 +1,228 @@
+package study.querydsl.repository.support;
+
+import study.querydsl.dto.AgeStatsDto;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Created by IntelliJ IDEA.
+ * User: june
+ * Date: 2026-10-17
+ * Time: 23:50
+ **/
+// 회원 나이 집계용 컬럼 저장소
+// - 회원 한명 = 한 행, 컬럼별 기본형 배열 (memberIds, ages, teamCodes) 이라 박싱/엔티티 없이 순차 스캔한다.
+// - 팀은 사전 인코딩: teamId -> teamCode(0, 1, 2 ...), 팀명도 nameCode 로 인코딩해서
+//   행에는 int 코드만 저장하고, 팀명 변경은 사전만 바꾼다.
+// - 삭제는 마지막 행을 빈 자리로 옮겨서 배열을 빈틈없이 유지한다.
+// 쓰기는 write lock, 집계는 read lock (집계끼리는 동시에 실행)
+public class MemberAgeColumns {
+
+    private static final int NO_TEAM = -1;
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+
+    // 행
+    private long[] memberIds = new long[1024];
+    private int[] ages = new int[1024];
+    private int[] teamCodes = new int[1024];
+    private int size;
+    private final Map<Long, Integer> rowByMemberId = new HashMap<>();
+
+    // 팀 사전
+    private final Map<Long, Integer> teamCodeById = new HashMap<>();
+    private int[] teamNameCodes = new int[16];
+    private int teamCount;
+
+    // 팀명 사전 (이름이 같은 팀은 하나로 집계, group by team.name 과 동일)
+    private final Map<String, Integer> nameCodeByName = new HashMap<>();
+    private final List<String> names = new ArrayList<>();
+
+    public void putMember(long memberId, int age, Long teamId) {
+        lock.writeLock().lock();
+        try {
+            Integer row = rowByMemberId.get(memberId);
+            if (row == null) {
+                row = size++;
+                ensureRowCapacity(size);
+                rowByMemberId.put(memberId, row);
+                memberIds[row] = memberId;
+            }
+            ages[row] = age;
+            teamCodes[row] = teamId == null ? NO_TEAM : teamCode(teamId);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void removeMember(long memberId) {
+        lock.writeLock().lock();
+        try {
+            Integer row = rowByMemberId.remove(memberId);
+            if (row == null) {
+                return;
+            }
+            int last = --size;
+            if (row != last) {
+                memberIds[row] = memberIds[last];
+                ages[row] = ages[last];
+                teamCodes[row] = teamCodes[last];
+                rowByMemberId.put(memberIds[row], row);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void putTeam(long teamId, String name) {
+        lock.writeLock().lock();
+        try {
+            teamNameCodes[teamCode(teamId)] = nameCode(name);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return size;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * 전체 회원의 나이 집계 (select count, sum, avg, max, min from member)
+     */
+    public AgeStatsDto total() {
+        lock.readLock().lock();
+        try {
+            long sum = 0;
+            int max = Integer.MIN_VALUE;
+            int min = Integer.MAX_VALUE;
+            for (int i = 0; i < size; i++) {
+                int age = ages[i];
+                sum += age;
+                max = Math.max(max, age);
+                min = Math.min(min, age);
+            }
+            return stats(null, size, sum, max, min);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * 팀명별 나이 집계 (from member join team group by team.name), 팀명 순서
+     * 팀 코드별로 한번 스캔해서 모은 뒤 팀명 코드로 합친다.
+     */
+    public List<AgeStatsDto> byTeamName() {
+        lock.readLock().lock();
+        try {
+            long[] counts = new long[teamCount];
+            long[] sums = new long[teamCount];
+            int[] maxs = new int[teamCount];
+            int[] mins = new int[teamCount];
+            Arrays.fill(maxs, Integer.MIN_VALUE);
+            Arrays.fill(mins, Integer.MAX_VALUE);
+            for (int i = 0; i < size; i++) {
+                int code = teamCodes[i];
+                if (code == NO_TEAM) {
+                    continue;
+                }
+                int age = ages[i];
+                counts[code]++;
+                sums[code] += age;
+                maxs[code] = Math.max(maxs[code], age);
+                mins[code] = Math.min(mins[code], age);
+            }
+
+            int nameCount = names.size();
+            long[] nameCounts = new long[nameCount];
+            long[] nameSums = new long[nameCount];
+            int[] nameMaxs = new int[nameCount];
+            int[] nameMins = new int[nameCount];
+            Arrays.fill(nameMaxs, Integer.MIN_VALUE);
+            Arrays.fill(nameMins, Integer.MAX_VALUE);
+            for (int code = 0; code < teamCount; code++) {
+                int nameCode = teamNameCodes[code];
+                nameCounts[nameCode] += counts[code];
+                nameSums[nameCode] += sums[code];
+                nameMaxs[nameCode] = Math.max(nameMaxs[nameCode], maxs[code]);
+                nameMins[nameCode] = Math.min(nameMins[nameCode], mins[code]);
+            }
+
+            // 팀명이 null 인 팀은 맨 앞 (TreeMap 은 null 키를 허용하지 않으므로 따로)
+            AgeStatsDto unnamed = null;
+            TreeMap<String, AgeStatsDto> result = new TreeMap<>();
+            for (int nameCode = 0; nameCode < nameCount; nameCode++) {
+                if (nameCounts[nameCode] == 0) {
+                    continue;
+                }
+                String name = names.get(nameCode);
+                AgeStatsDto stats = stats(name, nameCounts[nameCode], nameSums[nameCode],
+                        nameMaxs[nameCode], nameMins[nameCode]);
+                if (name == null) {
+                    unnamed = stats;
+                } else {
+                    result.put(name, stats);
+                }
+            }
+            List<AgeStatsDto> list = new ArrayList<>(result.size() + 1);
+            if (unnamed != null) {
+                list.add(unnamed);
+            }
+            list.addAll(result.values());
+            return list;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private static AgeStatsDto stats(String teamName, long count, long sum, int max, int min) {
+        if (count == 0) {
+            return new AgeStatsDto(teamName, 0, null, null, null, null);
+        }
+        return new AgeStatsDto(teamName, count, sum, (double) sum / count, max, min);
+    }
+
+    // 처음 보는 팀이면 이름 없이 등록, 팀 이벤트/로딩으로 이름이 채워진다.
+    private int teamCode(long teamId) {
+        Integer code = teamCodeById.get(teamId);
+        if (code == null) {
+            code = teamCount++;
+            if (teamCount > teamNameCodes.length) {
+                teamNameCodes = Arrays.copyOf(teamNameCodes, teamNameCodes.length * 2);
+            }
+            teamNameCodes[code] = nameCode(null);
+            teamCodeById.put(teamId, code);
+        }
+        return code;
+    }
+
+    private int nameCode(String name) {
+        Integer code = nameCodeByName.get(name);
+        if (code == null) {
+            code = names.size();
+            names.add(name);
+            nameCodeByName.put(name, code);
+        }
+        return code;
+    }
+
+    private void ensureRowCapacity(int capacity) {
+        if (capacity > memberIds.length) {
+            int newLength = Math.max(capacity, memberIds.length * 2);
+            memberIds = Arrays.copyOf(memberIds, newLength);
+            ages = Arrays.copyOf(ages, newLength);
+            teamCodes = Arrays.copyOf(teamCodes, newLength);
+        }
+    }
+}
@@ -0,0 +1,99 @@
+package study.querydsl.repository.support;
+
+import com.mysema.commons.lang.CloseableIterator;
+import com.querydsl.core.Tuple;
+import com.querydsl.jpa.impl.JPAQueryFactory;
+import org.hibernate.jpa.QueryHints;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import study.querydsl.dto.AgeStatsDto;
+import study.querydsl.entity.event.ChangeType;
+import study.querydsl.entity.event.EntityChangedEvent;
+import study.querydsl.entity.event.MemberChangedEvent;
+import study.querydsl.entity.event.TeamChangedEvent;
+
+import javax.persistence.EntityManager;
+import java.util.List;
+import java.util.Optional;
+
+import static study.querydsl.entity.QMember.member;
+import static study.querydsl.entity.QTeam.team;
+
+/**
+ * Created by IntelliJ IDEA.
+ * User: june
+ * Date: 2026-10-17
+ * Time: 23:58
+ **/
+// 대시보드용 회원 나이 집계 스냅샷 (MemberAgeColumns)
+// 로딩/갱신은 CommittedChangeIndex 참고
+// 스냅샷을 사용할 수 없으면 empty -> 호출하는 쪽에서 DB 집계
+@Component
+public class MemberAgeSnapshot extends CommittedChangeIndex<MemberAgeColumns> {
+
+    private final EntityManager em;
+    private final int fetchSize;
+
+    public MemberAgeSnapshot(EntityManager em, PlatformTransactionManager transactionManager,
+                             @Value("${member.age-snapshot.enabled:true}") boolean enabled,
+                             @Value("${member.age-snapshot.fetch-size:1000}") int fetchSize) {
+        super("age-snapshot", transactionManager, enabled);
+        this.em = em;
+        this.fetchSize = fetchSize;
+    }
+
+    public Optional<AgeStatsDto> total() {
+        MemberAgeColumns current = usable();
+        return current == null ? Optional.empty() : Optional.of(current.total());
+    }
+
+    public Optional<List<AgeStatsDto>> byTeamName() {
+        MemberAgeColumns current = usable();
+        return current == null ? Optional.empty() : Optional.of(current.byTeamName());
+    }
+
+    @Override
+    protected MemberAgeColumns load() {
+        MemberAgeColumns loaded = new MemberAgeColumns();
+        JPAQueryFactory queryFactory = new JPAQueryFactory(em);
+        for (Tuple row : queryFactory.select(team.id, team.name).from(team).fetch()) {
+            loaded.putTeam(row.get(team.id), row.get(team.name));
+        }
+        // member.team.id 는 조인 없이 FK 컬럼을 읽는다.
+        try (CloseableIterator<Tuple> iterator = queryFactory
+                .select(member.id, member.age, member.team.id)
+                .from(member)
+                .setHint(QueryHints.HINT_FETCH_SIZE, fetchSize)
+                .iterate()) {
+            while (iterator.hasNext()) {
+                Tuple row = iterator.next();
+                loaded.putMember(row.get(member.id), row.get(member.age), row.get(member.team.id));
+            }
+        }
+        return loaded;
+    }
+
+    @Override
+    protected boolean supports(EntityChangedEvent event) {
+        return event instanceof MemberChangedEvent || event instanceof TeamChangedEvent;
+    }
+
+    @Override
+    protected void apply(MemberAgeColumns target, EntityChangedEvent event) {
+        if (event instanceof TeamChangedEvent) {
+            // 삭제된 팀은 소속 회원이 없으므로 (FK) 사전에 남아 있어도 집계에 나오지 않는다.
+            TeamChangedEvent changed = (TeamChangedEvent) event;
+            if (changed.getType() != ChangeType.REMOVE) {
+                target.putTeam(changed.getTeamId(), changed.getName());
+            }
+            return;
+        }
+        MemberChangedEvent changed = (MemberChangedEvent) event;
+        if (changed.getType() == ChangeType.REMOVE) {
+            target.removeMember(changed.getMemberId());
+        } else {
+            target.putMember(changed.getMemberId(), changed.getAge(), changed.getTeamId());
+        }
+    }
+}
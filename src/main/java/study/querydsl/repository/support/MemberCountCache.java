@@ -0,0 +1,157 @@
+package study.querydsl.repository.support;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.repository.support.PageableExecutionUtils;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import study.querydsl.dto.MemberSearchCondition;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.LongSupplier;
+
+/**
+ * Created by IntelliJ IDEA.
+ * User: june
+ * Date: 2026-10-17
+ * Time: 11:10
+ **/
+// 회원 검색 페이징의 count 쿼리를 줄이기 위한 컴포넌트
+// 캐시된 건수는 TTL 이 지나거나 Member/Team 이 변경되면(MemberDataVersion) 무효가 된다.
+// member.count.query{result=executed|cached|estimated|skipped} 메트릭으로 얼마나 회피했는지 확인할 수 있다.
+@Slf4j
+@Component
+public class MemberCountCache {
+
+    private static final String ESTIMATE_SQL =
+            "select row_count_estimate from information_schema.tables where table_name = 'MEMBER'";
+
+    private final Cache<MemberSearchCondition, CachedCount> totals;
+    private final JdbcTemplate jdbcTemplate;
+    private final MemberDataVersion dataVersion;
+
+    private final Counter executed;
+    private final Counter cached;
+    private final Counter estimated;
+    private final Counter skipped;
+
+    public MemberCountCache(JdbcTemplate jdbcTemplate,
+                            MemberDataVersion dataVersion,
+                            MeterRegistry meterRegistry,
+                            @Value("${member.count-cache.maximum-size:10000}") long maximumSize,
+                            @Value("${member.count-cache.ttl-seconds:30}") long ttlSeconds) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.dataVersion = dataVersion;
+        this.totals = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfterWrite(ttlSeconds, TimeUnit.SECONDS)
+                .build();
+        this.executed = counter(meterRegistry, "executed");
+        this.cached = counter(meterRegistry, "cached");
+        this.estimated = counter(meterRegistry, "estimated");
+        this.skipped = counter(meterRegistry, "skipped");
+    }
+
+    /**
+     * PageableExecutionUtils 와 동일하게 마지막 페이지면 count 를 생략하고,
+     * 필요한 경우에만 countMode 에 따라 건수를 구한다.
+     */
+    public <T> Page<T> getPage(List<T> content, Pageable pageable, MemberSearchCondition condition,
+                               CountMode countMode, LongSupplier countQuery) {
+        AtomicBoolean counted = new AtomicBoolean();
+        Page<T> page = PageableExecutionUtils.getPage(content, pageable, () -> {
+            counted.set(true);
+            return count(condition, countMode, countQuery);
+        });
+        if (!counted.get()) {
+            skipped.increment();
+        }
+        return page;
+    }
+
+    public long count(MemberSearchCondition condition, CountMode countMode, LongSupplier countQuery) {
+        switch (countMode) {
+            case ESTIMATED:
+                Long estimate = isUnfiltered(condition) ? estimateMemberRows() : null;
+                if (estimate != null) {
+                    estimated.increment();
+                    return estimate;
+                }
+                return cachedCount(condition, countQuery);
+            case CACHED:
+                return cachedCount(condition, countQuery);
+            default:
+                return executeCount(countQuery);
+        }
+    }
+
+    // Slice 응답처럼 count 자체가 필요없는 경우
+    public void recordSkipped() {
+        skipped.increment();
+    }
+
+    public void invalidateAll() {
+        totals.invalidateAll();
+    }
+
+    private long cachedCount(MemberSearchCondition condition, LongSupplier countQuery) {
+        if (!SharedCacheSupport.isUsable()) {
+            return executeCount(countQuery);
+        }
+        MemberSearchCondition key = condition.normalized();
+        long version = dataVersion.current();
+        CachedCount cachedCount = totals.getIfPresent(key);
+        if (cachedCount != null && cachedCount.version == version) {
+            cached.increment();
+            return cachedCount.total;
+        }
+        long count = executeCount(countQuery);
+        totals.put(key, new CachedCount(version, count));
+        return count;
+    }
+
+    private long executeCount(LongSupplier countQuery) {
+        executed.increment();
+        return countQuery.getAsLong();
+    }
+
+    private boolean isUnfiltered(MemberSearchCondition condition) {
+        return condition.normalized().equals(new MemberSearchCondition());
+    }
+
+    // H2 의 테이블 통계값, 지원하지 않는 DB 면 null
+    private Long estimateMemberRows() {
+        try {
+            return jdbcTemplate.queryForObject(ESTIMATE_SQL, Long.class);
+        } catch (DataAccessException e) {
+            log.debug("row count estimate is not available", e);
+            return null;
+        }
+    }
+
+    private static Counter counter(MeterRegistry meterRegistry, String result) {
+        return Counter.builder("member.count.query")
+                .description("Member search count query executions and avoidances")
+                .tag("result", result)
+                .register(meterRegistry);
+    }
+
+    private static class CachedCount {
+        private final long version;
+        private final long total;
+
+        private CachedCount(long version, long total) {
+            this.version = version;
+            this.total = total;
+        }
+    }
+}
@@ -0,0 +1,54 @@
+package study.querydsl.repository.support;
+
+import org.springframework.util.StringUtils;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+/**
+ * Created by IntelliJ IDEA.
+ * User: june
+ * Date: 2026-10-17
+ * Time: 10:14
+ **/
+// 클라이언트에게는 불투명한 토큰으로 보이도록 마지막 member.id 를 인코딩한다.
+// 잘못된 커서는 클라이언트 입력 오류이므로 InvalidSearchException (400)
+public final class MemberCursor {
+
+    private static final String PREFIX = "m:";
+
+    private MemberCursor() {
+    }
+
+    public static String encode(Long lastMemberId) {
+        if (lastMemberId == null) {
+            return null;
+        }
+        byte[] raw = (PREFIX + lastMemberId).getBytes(StandardCharsets.UTF_8);
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw);
+    }
+
+    /**
+     * @param cursor 이전 응답의 nextCursor
+     * @return 마지막으로 읽은 member.id, 첫 페이지면 null
+     */
+    public static Long decode(String cursor) {
+        if (!StringUtils.hasText(cursor)) {
+            return null;
+        }
+        String raw;
+        try {
+            raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+        } catch (IllegalArgumentException e) {
+            throw new InvalidSearchException("Invalid cursor: " + cursor, e);
+        }
+        if (!raw.startsWith(PREFIX)) {
+            throw new InvalidSearchException("Invalid cursor: " + cursor);
+        }
+        try {
+            return Long.valueOf(raw.substring(PREFIX.length()));
+        } catch (NumberFormatException e) {
+            throw new InvalidSearchException("Invalid cursor: " + cursor, e);
+        }
+    }
+}
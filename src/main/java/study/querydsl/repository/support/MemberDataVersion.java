@@ -0,0 +1,69 @@
+package study.querydsl.repository.support;
+
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronizationAdapter;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import study.querydsl.entity.event.EntityChangedEvent;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Created by IntelliJ IDEA.
+ * User: june
+ * Date: 2026-10-17
+ * Time: 13:20
+ **/
+// Member/Team 데이터가 바뀔때마다 증가하는 버전
+// 캐시는 조회를 시작할때의 버전을 같이 저장해두고, 버전이 다르면 무효한 값으로 취급한다.
+// 버전은 재시작하면 0 부터 다시 시작하므로 외부(ETag 등)에 노출할 때는 epoch 를 같이 사용한다.
+// 주의: JVM 메모리의 카운터라 애플리케이션 인스턴스가 하나일 때만 맞다.
+//       여러 인스턴스로 띄우면 다른 인스턴스에서 일어난 변경으로는 버전이 바뀌지 않으므로
+//       검색 캐시, 카운트 캐시, ETag 가 오래된 데이터를 최신으로 취급한다. (DB/Redis 등 공유 버전이 필요)
+@Component
+public class MemberDataVersion {
+
+    private final AtomicLong version = new AtomicLong();
+    private final long epoch = System.currentTimeMillis();
+    private volatile long lastModified = epoch;
+
+    public long current() {
+        return version.get();
+    }
+
+    // 애플리케이션 시작 시각
+    public long epoch() {
+        return epoch;
+    }
+
+    // 마지막으로 버전이 증가한 시각 (변경이 없었으면 시작 시각)
+    public long lastModified() {
+        return lastModified;
+    }
+
+    public void increment() {
+        lastModified = System.currentTimeMillis();
+        version.incrementAndGet();
+    }
+
+    /**
+     * 변경 시점(flush)에 한번, 트랜잭션이 끝날때 한번 더 증가시킨다.
+     * 커밋 전에 다른 트랜잭션이 읽어간 이전 데이터가 캐시에 남지 않도록 하기 위함.
+     * 엔티티마다 TransactionSynchronization 을 등록하면 대량 저장시 메모리를 많이 쓰므로 트랜잭션당 한번만 등록한다.
+     */
+    @EventListener
+    public void onChange(EntityChangedEvent event) {
+        increment();
+        if (TransactionSynchronizationManager.isSynchronizationActive()
+                && !TransactionSynchronizationManager.hasResource(this)) {
+            TransactionSynchronizationManager.bindResource(this, Boolean.TRUE);
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronizationAdapter() {
+                @Override
+                public void afterCompletion(int status) {
+                    TransactionSynchronizationManager.unbindResourceIfPossible(MemberDataVersion.this);
+                    increment();
+                }
+            });
+        }
+    }
+}
@@ -0,0 +1,34 @@
+package study.querydsl.repository.support;
+
+import com.querydsl.jpa.impl.JPAQuery;
+import org.hibernate.jpa.QueryHints;
+
+import javax.persistence.EntityManager;
+
+/**
+ * Created by IntelliJ IDEA.
+ * User: june
+ * Date: 2026-10-17
+ * Time: 20:40
+ **/
+// Member 엔티티 조회시 연관관계를 어디까지 함께 가져올지
+public enum MemberFetchPlan {
+    // 팀은 지연로딩, 접근시 @BatchSize/default_batch_fetch_size 만큼 in 쿼리로 묶어서 로딩
+    MEMBER(null),
+    // Member.team 엔티티 그래프로 팀까지 한번에 조회 (쿼리 1번)
+    MEMBER_TEAM("Member.team");
+
+    private final String entityGraph;
+
+    MemberFetchPlan(String entityGraph) {
+        this.entityGraph = entityGraph;
+    }
+
+    public <T> JPAQuery<T> apply(JPAQuery<T> query, EntityManager em) {
+        if (entityGraph == null) {
+            return query;
+        }
+        // fetchgraph: 그래프에 포함된 연관관계만 즉시로딩, 나머지는 매핑 설정(LAZY)대로
+        return query.setHint(QueryHints.HINT_FETCHGRAPH, em.getEntityGraph(entityGraph));
+    }
+}
@@ -0,0 +1,113 @@
+package study.querydsl.repository.support;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import study.querydsl.dto.MemberSearchCondition;
+import study.querydsl.dto.MemberTeamDto;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * Created by IntelliJ IDEA.
+ * User: june
+ * Date: 2026-10-17
+ * Time: 13:30
+ **/
+// MemberSearchCondition 별 검색결과 캐시 (Caffeine = W-TinyLFU)
+// Member/Team 이 변경되면 MemberDataVersion 이 올라가서 이전 결과는 모두 무효가 된다.
+// 변경 이벤트가 없는 변경(DB 직접 수정 등)은 ttl 이 지나면 다시 조회된다.
+// member.search.cache{result=hit|miss|stale}, member.search.cache.evictions 메트릭 제공
+@Component
+public class MemberSearchCache {
+
+    private final Cache<MemberSearchCondition, CachedResult> results;
+    private final MemberDataVersion dataVersion;
+
+    private final Counter hits;
+    private final Counter misses;
+    private final Counter stales;
+
+    public MemberSearchCache(MemberDataVersion dataVersion,
+                             MeterRegistry meterRegistry,
+                             @Value("${member.search-cache.maximum-size:1000}") long maximumSize,
+                             @Value("${member.search-cache.ttl-seconds:60}") long ttlSeconds) {
+        this.dataVersion = dataVersion;
+        Counter evictions = Counter.builder("member.search.cache.evictions")
+                .description("Member search results evicted by size or expired")
+                .register(meterRegistry);
+        this.results = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfterWrite(ttlSeconds, TimeUnit.SECONDS)
+                .<MemberSearchCondition, CachedResult>removalListener((key, value, cause) -> {
+                    if (cause.wasEvicted()) {
+                        evictions.increment();
+                    }
+                })
+                .build();
+        this.hits = counter(meterRegistry, "hit");
+        this.misses = counter(meterRegistry, "miss");
+        this.stales = counter(meterRegistry, "stale");
+        Gauge.builder("member.search.cache.size", results, Cache::estimatedSize)
+                .register(meterRegistry);
+    }
+
+    /**
+     * 캐시된 결과가 있으면 반환하고, 없으면 loader 로 조회해서 캐시한다.
+     * 쓰기 트랜잭션 안에서는 캐시를 사용하지 않는다. (SharedCacheSupport)
+     * @param condition
+     * @param loader
+     * @return 수정할 수 없는 리스트
+     */
+    public List<MemberTeamDto> get(MemberSearchCondition condition, Supplier<List<MemberTeamDto>> loader) {
+        if (!SharedCacheSupport.isUsable()) {
+            return loader.get();
+        }
+
+        MemberSearchCondition key = condition.normalized();
+        long version = dataVersion.current();
+        CachedResult cached = results.getIfPresent(key);
+        if (cached != null && cached.version == version) {
+            hits.increment();
+            return cached.content;
+        }
+        if (cached != null) {
+            stales.increment();
+        } else {
+            misses.increment();
+        }
+
+        List<MemberTeamDto> content = Collections.unmodifiableList(new ArrayList<>(loader.get()));
+        results.put(key, new CachedResult(version, content));
+        return content;
+    }
+
+    public void invalidateAll() {
+        results.invalidateAll();
+    }
+
+    private static Counter counter(MeterRegistry meterRegistry, String result) {
+        return Counter.builder("member.search.cache")
+                .description("Member search result cache lookups")
+                .tag("result", result)
+                .register(meterRegistry);
+    }
+
+    private static class CachedResult {
+        private final long version;
+        private final List<MemberTeamDto> content;
+
+        private CachedResult(long version, List<MemberTeamDto> content) {
+            this.version = version;
+            this.content = content;
+        }
+    }
+}
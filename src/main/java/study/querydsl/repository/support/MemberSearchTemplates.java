@@ -0,0 +1,101 @@
+package study.querydsl.repository.support;
+
+import org.springframework.util.StringUtils;
+import study.querydsl.dto.MemberSearchCondition;
+import study.querydsl.dto.MemberTeamDto;
+
+import javax.persistence.EntityManager;
+import javax.persistence.TypedQuery;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Created by IntelliJ IDEA.
+ * User: june
+ * Date: 2026-10-17
+ * Time: 17:05
+ **/
+// MemberSearchCondition 의 4개 조건 유무 조합(16가지)별 JPQL 을 미리 만들어둔다.
+// 요청마다 Querydsl 로 프로젝션/JPQL 을 다시 만들지 않고 파라미터만 바인딩하며,
+// JPQL 문자열이 16개로 고정되므로 하이버네이트 쿼리 플랜 캐시에서 항상 hit 된다.
+public final class MemberSearchTemplates {
+
+    private static final int USERNAME = 1;
+    private static final int TEAM_NAME = 1 << 1;
+    private static final int AGE_GOE = 1 << 2;
+    private static final int AGE_LOE = 1 << 3;
+
+    private static final String SELECT =
+            "select new study.querydsl.dto.MemberTeamDto(m.id, m.username, m.age, t.id, t.name)" +
+            " from Member m";
+
+    private static final String[] JPQL = new String[16];
+
+    static {
+        for (int mask = 0; mask < JPQL.length; mask++) {
+            JPQL[mask] = SELECT + join(mask) + where(mask);
+        }
+    }
+
+    private MemberSearchTemplates() {
+    }
+
+    public static List<MemberTeamDto> search(EntityManager em, MemberSearchCondition condition) {
+        int mask = mask(condition);
+        TypedQuery<MemberTeamDto> query = em.createQuery(JPQL[mask], MemberTeamDto.class);
+        if ((mask & USERNAME) != 0) {
+            query.setParameter("username", condition.getUsername());
+        }
+        if ((mask & TEAM_NAME) != 0) {
+            query.setParameter("teamName", condition.getTeamName());
+        }
+        if ((mask & AGE_GOE) != 0) {
+            query.setParameter("ageGoe", condition.getAgeGoe());
+        }
+        if ((mask & AGE_LOE) != 0) {
+            query.setParameter("ageLoe", condition.getAgeLoe());
+        }
+        return query.getResultList();
+    }
+
+    // usernameEq, teamNameEq, ageGoe, ageLoe 와 동일한 기준
+    static int mask(MemberSearchCondition condition) {
+        int mask = 0;
+        if (!StringUtils.isEmpty(condition.getUsername())) {
+            mask |= USERNAME;
+        }
+        if (!StringUtils.isEmpty(condition.getTeamName())) {
+            mask |= TEAM_NAME;
+        }
+        if (condition.getAgeGoe() != null) {
+            mask |= AGE_GOE;
+        }
+        if (condition.getAgeLoe() != null) {
+            mask |= AGE_LOE;
+        }
+        return mask;
+    }
+
+    // 팀명 조건이 있으면 팀이 없는 회원은 어차피 제외되므로 inner join 으로 바꿔서
+    // DB 가 team(idx_team_name) -> member(idx_member_team_id_age) 순서로 조인할 수 있게 한다.
+    private static String join(int mask) {
+        return (mask & TEAM_NAME) != 0 ? " join m.team t" : " left join m.team t";
+    }
+
+    private static String where(int mask) {
+        List<String> predicates = new ArrayList<>();
+        if ((mask & USERNAME) != 0) {
+            predicates.add("m.username = :username");
+        }
+        if ((mask & TEAM_NAME) != 0) {
+            predicates.add("t.name = :teamName");
+        }
+        if ((mask & AGE_GOE) != 0) {
+            predicates.add("m.age >= :ageGoe");
+        }
+        if ((mask & AGE_LOE) != 0) {
+            predicates.add("m.age <= :ageLoe");
+        }
+        return predicates.isEmpty() ? "" : " where " + String.join(" and ", predicates);
+    }
+}
@@ -39,11 +39,22 @@ public class MemberTestRepository extends Querydsl4RepositorySupport {
                 .fetch();
     }
 
+    public List<Member> basicSelectReadOnly() {
+        return selectReadOnly(member)
+                .from(member)
+                .fetch();
+    }
+
+    public List<Member> basicSelectFromReadOnly() {
+        return selectFromReadOnly(member)
+                .fetch();
+    }
+
     public Page<Member> searchPageByApplyPage(MemberSearchCondition condition, Pageable pageable) {
         JPAQuery<Member> query = selectFrom(member)
                 .leftJoin(member.team, team)
                 .where(
-                        usernameEq(condition.getUsername()),
+                        usernameMatches(condition),
                         teamNameEq(condition.getTeamName()),
                         ageGoe(condition.getAgeGoe()),
                         ageLoe(condition.getAgeLoe())
@@ -58,7 +69,7 @@ public class MemberTestRepository extends Querydsl4RepositorySupport {
                 query.selectFrom(member)
                         .leftJoin(member.team, team)
                         .where(
-                                usernameEq(condition.getUsername()),
+                                usernameMatches(condition),
                                 teamNameEq(condition.getTeamName()),
                                 ageGoe(condition.getAgeGoe()),
                                 ageLoe(condition.getAgeLoe())
@@ -72,7 +83,7 @@ public class MemberTestRepository extends Querydsl4RepositorySupport {
                 .selectFrom(member)
                 .leftJoin(member.team, team)
                 .where(
-                        usernameEq(condition.getUsername()),
+                        usernameMatches(condition),
                         teamNameEq(condition.getTeamName()),
                         ageGoe(condition.getAgeGoe()),
                         ageLoe(condition.getAgeLoe())
@@ -81,7 +92,51 @@ public class MemberTestRepository extends Querydsl4RepositorySupport {
                 .from(member)
                 .leftJoin(member.team, team)
                 .where(
-                        usernameEq(condition.getUsername()),
+                        usernameMatches(condition),
+                        teamNameEq(condition.getTeamName()),
+                        ageGoe(condition.getAgeGoe()),
+                        ageLoe(condition.getAgeLoe())
+                )
+        );
+    }
+
+    public Page<Member> applyPaginationReadOnly(MemberSearchCondition condition, Pageable pageable) {
+        return applyPaginationReadOnly(pageable, contentQuery -> contentQuery
+                .selectFrom(member)
+                .leftJoin(member.team, team)
+                .where(
+                        usernameMatches(condition),
+                        teamNameEq(condition.getTeamName()),
+                        ageGoe(condition.getAgeGoe()),
+                        ageLoe(condition.getAgeLoe())
+                ), countQuery -> countQuery
+                .select(member.id)
+                .from(member)
+                .leftJoin(member.team, team)
+                .where(
+                        usernameMatches(condition),
+                        teamNameEq(condition.getTeamName()),
+                        ageGoe(condition.getAgeGoe()),
+                        ageLoe(condition.getAgeLoe())
+                )
+        );
+    }
+
+    public Page<Member> applyPaginationParallel(MemberSearchCondition condition, Pageable pageable) {
+        return applyPaginationParallel(pageable, contentQuery -> contentQuery
+                .selectFrom(member)
+                .leftJoin(member.team, team)
+                .where(
+                        usernameMatches(condition),
+                        teamNameEq(condition.getTeamName()),
+                        ageGoe(condition.getAgeGoe()),
+                        ageLoe(condition.getAgeLoe())
+                ), countQuery -> countQuery
+                .select(member.id)
+                .from(member)
+                .leftJoin(member.team, team)
+                .where(
+                        usernameMatches(condition),
                         teamNameEq(condition.getTeamName()),
                         ageGoe(condition.getAgeGoe()),
                         ageLoe(condition.getAgeLoe())
@@ -93,6 +148,22 @@ public class MemberTestRepository extends Querydsl4RepositorySupport {
         return StringUtils.isEmpty(username) ? null : member.username.eq(username);
     }
 
+    // 회원명 검색 방식(usernameMatch) 적용, MemberJpaRepository 와 같이 메모리 인덱스 없이 like 로 조회한다.
+    private BooleanExpression usernameMatches(MemberSearchCondition condition) {
+        String username = condition.getUsername();
+        if (StringUtils.isEmpty(username)) {
+            return null;
+        }
+        switch (condition.getUsernameMatchOrDefault()) {
+            case PREFIX:
+                return member.username.startsWith(username);
+            case CONTAINS:
+                return member.username.contains(username);
+            default:
+                return usernameEq(username);
+        }
+    }
+
     private BooleanExpression teamNameEq(String teamName) {
         return StringUtils.isEmpty(teamName) ? null : team.name.eq(teamName);
     }
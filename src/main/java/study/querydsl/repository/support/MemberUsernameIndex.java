@@ -0,0 +1,92 @@
+package study.querydsl.repository.support;
+
+import com.mysema.commons.lang.CloseableIterator;
+import com.querydsl.core.Tuple;
+import com.querydsl.jpa.impl.JPAQueryFactory;
+import org.hibernate.jpa.QueryHints;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import study.querydsl.dto.UsernameMatch;
+import study.querydsl.entity.event.ChangeType;
+import study.querydsl.entity.event.EntityChangedEvent;
+import study.querydsl.entity.event.MemberChangedEvent;
+
+import javax.persistence.EntityManager;
+import java.util.Optional;
+import java.util.Set;
+
+import static study.querydsl.entity.QMember.member;
+
+/**
+ * Created by IntelliJ IDEA.
+ * User: june
+ * Date: 2026-10-17
+ * Time: 23:10
+ **/
+// 회원명 접두어/포함 검색용 메모리 인덱스 (UsernameIndex)
+// 로딩/갱신은 CommittedChangeIndex 참고
+// 인덱스가 준비되지 않았거나, 포함 검색어가 3글자 미만이거나, 결과가 max-ids 건을 넘으면 empty -> 호출하는 쪽에서 like 조회
+@Component
+public class MemberUsernameIndex extends CommittedChangeIndex<UsernameIndex> {
+
+    private final EntityManager em;
+    private final int maxIds;
+    private final int fetchSize;
+
+    public MemberUsernameIndex(EntityManager em, PlatformTransactionManager transactionManager,
+                               @Value("${member.username-index.enabled:true}") boolean enabled,
+                               @Value("${member.username-index.max-ids:1000}") int maxIds,
+                               @Value("${member.username-index.fetch-size:1000}") int fetchSize) {
+        super("username-index", transactionManager, enabled);
+        this.em = em;
+        this.maxIds = maxIds;
+        this.fetchSize = fetchSize;
+    }
+
+    /**
+     * 조건에 맞는 회원 id
+     * EXACT 는 DB 인덱스로 충분하므로 사용하지 않는다.
+     * @return 인덱스를 사용할 수 없으면 empty
+     */
+    public Optional<Set<Long>> find(UsernameMatch match, String username) {
+        UsernameIndex current = usable();
+        if (current == null || match == UsernameMatch.EXACT) {
+            return Optional.empty();
+        }
+        return match == UsernameMatch.PREFIX
+                ? current.findByPrefix(username, maxIds)
+                : current.findContaining(username, maxIds);
+    }
+
+    @Override
+    protected UsernameIndex load() {
+        UsernameIndex loaded = new UsernameIndex();
+        try (CloseableIterator<Tuple> iterator = new JPAQueryFactory(em)
+                .select(member.id, member.username)
+                .from(member)
+                .setHint(QueryHints.HINT_FETCH_SIZE, fetchSize)
+                .iterate()) {
+            while (iterator.hasNext()) {
+                Tuple row = iterator.next();
+                loaded.put(row.get(member.id), row.get(member.username));
+            }
+        }
+        return loaded;
+    }
+
+    @Override
+    protected boolean supports(EntityChangedEvent event) {
+        return event instanceof MemberChangedEvent;
+    }
+
+    @Override
+    protected void apply(UsernameIndex target, EntityChangedEvent event) {
+        MemberChangedEvent changed = (MemberChangedEvent) event;
+        if (changed.getType() == ChangeType.REMOVE) {
+            target.remove(changed.getMemberId());
+        } else {
+            target.put(changed.getMemberId(), changed.getUsername());
+        }
+    }
+}
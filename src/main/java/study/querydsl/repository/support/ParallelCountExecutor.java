@@ -0,0 +1,165 @@
+package study.querydsl.repository.support;
+
+import com.querydsl.jpa.impl.JPAQuery;
+import com.querydsl.jpa.impl.JPAQueryFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.repository.support.PageableExecutionUtils;
+import org.springframework.orm.jpa.EntityManagerFactoryUtils;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.annotation.PreDestroy;
+import javax.persistence.EntityManagerFactory;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+
+/**
+ * Created by IntelliJ IDEA.
+ * User: june
+ * Date: 2026-10-17
+ * Time: 16:40
+ **/
+// 페이징의 컨텐츠 쿼리와 카운트 쿼리를 동시에 실행한다. (응답시간 = max(content, count))
+// 카운트 쿼리는 별도 스레드에서 새 트랜잭션(= 별도 EntityManager, 커넥션)으로 실행한다.
+// 호출한 쪽과 같은 readOnly 트랜잭션이어야 라우팅 사용 시 컨텐츠 쿼리와 같이 레플리카에서 조회된다. (ReplicationRoutingDataSource)
+@Component
+public class ParallelCountExecutor {
+
+    private final EntityManagerFactory entityManagerFactory;
+    private final TransactionTemplate readOnlyTransaction;
+    private final TransactionTemplate transaction;
+    private final ThreadPoolExecutor executor;
+
+    public ParallelCountExecutor(EntityManagerFactory entityManagerFactory, PlatformTransactionManager transactionManager,
+                                 @Value("${member.paging.count-threads:4}") int threads,
+                                 @Value("${member.paging.count-queue-size:100}") int queueSize) {
+        this.entityManagerFactory = entityManagerFactory;
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+        this.transaction = new TransactionTemplate(transactionManager);
+        AtomicInteger sequence = new AtomicInteger();
+        // 큐가 가득차면 버린다. 호출한 스레드가 컨텐츠 쿼리 뒤에 자기 커넥션으로 실행 (= 순차 실행과 동일)
+        this.executor = new ThreadPoolExecutor(threads, threads, 60, TimeUnit.SECONDS,
+                new ArrayBlockingQueue<>(queueSize),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "paging-count-" + sequence.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                },
+                new ThreadPoolExecutor.DiscardPolicy());
+    }
+
+    /**
+     * 카운트 쿼리는 풀 스레드가 가져가기 전이면 컨텐츠 쿼리를 끝낸 호출 스레드가 직접 실행한다.
+     * 호출 스레드는 자기 커넥션을 가진 채로 기다리므로, 아직 시작도 못한(커넥션을 얻지 못할 수도 있는) 카운트를
+     * 기다리지 않도록 하기 위함 (모든 요청 스레드가 커넥션을 잡고 카운트를 기다리는 풀 교착 방지)
+     * 이미 시작된 카운트만 기다리므로 count-threads 가 커넥션 풀 크기보다 작으면 교착이 생기지 않는다.
+     * @param queryFactory 현재 트랜잭션의 queryFactory (컨텐츠 쿼리, 순차 실행시 사용)
+     * @param pageable
+     * @param contentQuery 페이징이 적용된 컨텐츠 쿼리
+     * @param countQuery 카운트 쿼리
+     */
+    public <T> Page<T> getPage(JPAQueryFactory queryFactory, Pageable pageable,
+                               Function<JPAQueryFactory, List<T>> contentQuery,
+                               Function<JPAQueryFactory, ? extends JPAQuery<?>> countQuery) {
+        // 별도 커넥션은 현재 쓰기 트랜잭션의 커밋되지 않은 변경을 볼 수 없으므로 이 경우에는 순차 실행
+        if (SharedCacheSupport.isReadWriteTransactionActive()) {
+            List<T> content = contentQuery.apply(queryFactory);
+            return PageableExecutionUtils.getPage(content, pageable,
+                    () -> countQuery.apply(queryFactory).fetchCount());
+        }
+
+        CountTask count = new CountTask(countQuery, TransactionSynchronizationManager.isCurrentTransactionReadOnly());
+        Future<?> submitted = executor.submit(count);
+        List<T> content;
+        try {
+            content = contentQuery.apply(queryFactory);
+        } catch (RuntimeException e) {
+            count.cancel(submitted);
+            throw e;
+        }
+
+        Page<T> page = PageableExecutionUtils.getPage(content, pageable, () -> count.get(queryFactory));
+        // 마지막 페이지라 카운트가 필요없었던 경우
+        count.cancel(submitted);
+        return page;
+    }
+
+    // 풀 스레드에는 트랜잭션이 없으므로 호출한 쪽의 readOnly 여부대로 새 트랜잭션을 시작한다.
+    private long fetchCount(Function<JPAQueryFactory, ? extends JPAQuery<?>> countQuery, boolean readOnly) {
+        return (readOnly ? readOnlyTransaction : transaction).execute(status -> countQuery
+                .apply(new JPAQueryFactory(EntityManagerFactoryUtils.getTransactionalEntityManager(entityManagerFactory)))
+                .fetchCount());
+    }
+
+    // 풀 스레드와 호출 스레드 중 먼저 가져간 쪽이 한번만 실행한다.
+    private class CountTask implements Runnable {
+
+        private final Function<JPAQueryFactory, ? extends JPAQuery<?>> countQuery;
+        private final boolean readOnly;
+        private final AtomicBoolean claimed = new AtomicBoolean();
+        private final CompletableFuture<Long> result = new CompletableFuture<>();
+
+        private CountTask(Function<JPAQueryFactory, ? extends JPAQuery<?>> countQuery, boolean readOnly) {
+            this.countQuery = countQuery;
+            this.readOnly = readOnly;
+        }
+
+        @Override
+        public void run() {
+            if (!claimed.compareAndSet(false, true)) {
+                return;
+            }
+            try {
+                result.complete(fetchCount(countQuery, readOnly));
+            } catch (Throwable e) {
+                result.completeExceptionally(e);
+            }
+        }
+
+        private long get(JPAQueryFactory queryFactory) {
+            if (claimed.compareAndSet(false, true)) {
+                return countQuery.apply(queryFactory).fetchCount();
+            }
+            return await(result);
+        }
+
+        // 실행중인 JDBC 호출은 인터럽트하지 않는다. 아직 시작 전이면 실행되지 않고, 이미 시작했으면 끝까지 실행된다.
+        private void cancel(Future<?> submitted) {
+            claimed.set(true);
+            submitted.cancel(false);
+        }
+    }
+
+    private static long await(Future<Long> total) {
+        try {
+            return total.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting for count query", e);
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof RuntimeException) {
+                throw (RuntimeException) cause;
+            }
+            throw new IllegalStateException("Count query failed", cause);
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+}
@@ -20,6 +20,7 @@ import javax.annotation.PostConstruct;
 import javax.persistence.EntityManager;
 import java.util.List;
 import java.util.function.Function;
+import java.util.function.UnaryOperator;
 
 /**
  * Created by IntelliJ IDEA.
@@ -34,6 +35,7 @@ public abstract class Querydsl4RepositorySupport {
     private Querydsl querydsl;
     private EntityManager entityManager;
     private JPAQueryFactory queryFactory;
+    private ParallelCountExecutor parallelCountExecutor;
 
     public Querydsl4RepositorySupport(Class<?> domainClass) {
         Assert.notNull(domainClass, "Domain class must not be null!");
@@ -52,6 +54,11 @@ public abstract class Querydsl4RepositorySupport {
         this.queryFactory = new JPAQueryFactory(entityManager);
     }
 
+    @Autowired
+    public void setParallelCountExecutor(ParallelCountExecutor parallelCountExecutor) {
+        this.parallelCountExecutor = parallelCountExecutor;
+    }
+
     @PostConstruct
     public void validate() {
         Assert.notNull(entityManager, "EntityManager must not be null!");
@@ -79,9 +86,23 @@ public abstract class Querydsl4RepositorySupport {
         return getQueryFactory().selectFrom(from);
     }
 
+    // 조회 전용 모드 (ReadOnlyQueries 참고)
+    protected <T> JPAQuery<T> selectReadOnly(Expression<T> expr) {
+        return ReadOnlyQueries.readOnly(select(expr));
+    }
+
+    protected <T> JPAQuery<T> selectFromReadOnly(EntityPath<T> from) {
+        return ReadOnlyQueries.readOnly(selectFrom(from));
+    }
+
+    /**
+     * 페이징 조회
+     * 컨텐츠/카운트 쿼리 모두 사용하지 않는 to-one left join 은 제거하고 실행한다. (QuerydslJoinPruner)
+     * 그래서 카운트 쿼리를 따로 만들지 않아도 조건에 필요한 조인만 남는다.
+     */
     protected <T> Page<T> applyPagination(Pageable pageable,
                                           Function<JPAQueryFactory, JPAQuery> contentQuery) {
-        JPAQuery jpaQuery = contentQuery.apply(getQueryFactory());
+        JPAQuery jpaQuery = prune(contentQuery.apply(getQueryFactory()), getQueryFactory());
         List<T> content = getQuerydsl().applyPagination(pageable, jpaQuery).fetch();
         return PageableExecutionUtils.getPage(content, pageable,
                 jpaQuery::fetchCount);
@@ -90,10 +111,42 @@ public abstract class Querydsl4RepositorySupport {
     protected <T> Page<T> applyPagination(Pageable pageable,
                                           Function<JPAQueryFactory, JPAQuery> contentQuery, Function<JPAQueryFactory,
             JPAQuery> countQuery) {
-        JPAQuery jpaContentQuery = contentQuery.apply(getQueryFactory());
+        return applyPagination(pageable, contentQuery, countQuery, UnaryOperator.identity());
+    }
+
+    /**
+     * 컨텐츠/카운트 쿼리 모두 조회 전용 모드로 실행
+     */
+    protected <T> Page<T> applyPaginationReadOnly(Pageable pageable,
+                                                  Function<JPAQueryFactory, JPAQuery> contentQuery, Function<JPAQueryFactory,
+            JPAQuery> countQuery) {
+        return applyPagination(pageable, contentQuery, countQuery, query -> ReadOnlyQueries.readOnly(query));
+    }
+
+    // 조인 제거로 새로 만든 쿼리에는 힌트가 복사되지 않으므로 queryMode(힌트 등)는 제거 후에 적용한다.
+    private <T> Page<T> applyPagination(Pageable pageable,
+                                        Function<JPAQueryFactory, JPAQuery> contentQuery, Function<JPAQueryFactory,
+            JPAQuery> countQuery, UnaryOperator<JPAQuery> queryMode) {
+        JPAQuery jpaContentQuery = queryMode.apply(prune(contentQuery.apply(getQueryFactory()), getQueryFactory()));
         List<T> content = getQuerydsl().applyPagination(pageable, jpaContentQuery).fetch();
-        JPAQuery countResult = countQuery.apply(getQueryFactory());
+        JPAQuery countResult = queryMode.apply(prune(countQuery.apply(getQueryFactory()), getQueryFactory()));
         return PageableExecutionUtils.getPage(content, pageable,
                 countResult::fetchCount);
     }
+
+    /**
+     * 컨텐츠 쿼리와 카운트 쿼리를 동시에 실행
+     * 카운트 쿼리는 별도의 EntityManager 로 실행되므로 쓰기 트랜잭션 안에서는 순차 실행된다.
+     */
+    protected <T> Page<T> applyPaginationParallel(Pageable pageable,
+                                                  Function<JPAQueryFactory, JPAQuery> contentQuery, Function<JPAQueryFactory,
+            JPAQuery> countQuery) {
+        return parallelCountExecutor.getPage(getQueryFactory(), pageable,
+                factory -> getQuerydsl().applyPagination(pageable, prune(contentQuery.apply(factory), factory)).fetch(),
+                factory -> prune(countQuery.apply(factory), factory));
+    }
+
+    private static JPAQuery prune(JPAQuery query, JPAQueryFactory factory) {
+        return QuerydslJoinPruner.prune(query, factory);
+    }
 }
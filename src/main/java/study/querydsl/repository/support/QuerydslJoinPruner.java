@@ -0,0 +1,203 @@
+package study.querydsl.repository.support;
+
+import com.querydsl.core.JoinExpression;
+import com.querydsl.core.JoinFlag;
+import com.querydsl.core.JoinType;
+import com.querydsl.core.QueryFlag;
+import com.querydsl.core.QueryMetadata;
+import com.querydsl.core.types.CollectionExpression;
+import com.querydsl.core.types.Constant;
+import com.querydsl.core.types.EntityPath;
+import com.querydsl.core.types.Expression;
+import com.querydsl.core.types.FactoryExpression;
+import com.querydsl.core.types.MapExpression;
+import com.querydsl.core.types.Operation;
+import com.querydsl.core.types.Ops;
+import com.querydsl.core.types.OrderSpecifier;
+import com.querydsl.core.types.ParamExpression;
+import com.querydsl.core.types.Path;
+import com.querydsl.core.types.SubQueryExpression;
+import com.querydsl.core.types.TemplateExpression;
+import com.querydsl.core.types.Visitor;
+import com.querydsl.jpa.impl.JPAQuery;
+import com.querydsl.jpa.impl.JPAQueryFactory;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Created by IntelliJ IDEA.
+ * User: june
+ * Date: 2026-10-17
+ * Time: 22:10
+ **/
+// 쿼리에서 참조하지 않는 to-one left join 을 제거한다.
+// 예) count 쿼리의 leftJoin(member.team, team) 은 teamName 조건이 없으면 결과 건수에 영향이 없으므로 빼도 된다.
+//
+// 제거 대상: on 조건/fetch join 이 없는 to-one(컬렉션이 아닌) left join 이면서
+//           select, where, group by, having, order by, 다른 조인, 서브쿼리 어디에서도 별칭을 참조하지 않는 경우
+// inner join 은 연관관계가 없는 로우를 걸러내므로, 컬렉션 조인은 로우수를 늘리므로 제거하지 않는다.
+public final class QuerydslJoinPruner {
+
+    private QuerydslJoinPruner() {
+    }
+
+    /**
+     * query 와 같은 내용에서 불필요한 조인만 뺀 새 쿼리를 factory 로 만든다.
+     * 조인을 제거할게 없으면 query 를 그대로 반환한다.
+     * 새 쿼리에는 힌트, 락모드 등 메타데이터 외의 설정은 복사되지 않으므로 prune 이후에 지정해야 한다.
+     */
+    @SuppressWarnings("unchecked")
+    public static <T> JPAQuery<T> prune(JPAQuery<T> query, JPAQueryFactory factory) {
+        QueryMetadata source = query.getMetadata();
+        List<JoinExpression> joins = source.getJoins();
+
+        Set<Expression<?>> referenced = new HashSet<>();
+        collect(source.getProjection(), referenced);
+        collect(source.getWhere(), referenced);
+        collect(source.getHaving(), referenced);
+        source.getGroupBy().forEach(groupBy -> collect(groupBy, referenced));
+        for (OrderSpecifier<?> orderBy : source.getOrderBy()) {
+            collect(orderBy.getTarget(), referenced);
+        }
+
+        // 뒤의 조인이 앞 조인의 별칭을 사용할 수 있으므로 뒤에서부터 판단한다.
+        List<JoinExpression> kept = new ArrayList<>(joins.size());
+        for (int i = joins.size() - 1; i >= 0; i--) {
+            JoinExpression join = joins.get(i);
+            if (isPrunable(join) && !referenced.contains(alias(join))) {
+                continue;
+            }
+            kept.add(join);
+            collect(join.getTarget(), referenced);
+            collect(join.getCondition(), referenced);
+        }
+        if (kept.size() == joins.size()) {
+            return query;
+        }
+        Collections.reverse(kept);
+
+        JPAQuery<?> pruned = factory.query();
+        copy(source, kept, pruned.getMetadata());
+        return (JPAQuery<T>) pruned;
+    }
+
+    private static boolean isPrunable(JoinExpression join) {
+        if (join.getType() != JoinType.LEFTJOIN || join.getCondition() != null || !join.getFlags().isEmpty()) {
+            return false;
+        }
+        Expression<?> target = join.getTarget();
+        if (!(target instanceof Operation) || ((Operation<?>) target).getOperator() != Ops.ALIAS) {
+            return false;
+        }
+        Expression<?> association = ((Operation<?>) target).getArg(0);
+        return association instanceof EntityPath
+                && !(association instanceof CollectionExpression)
+                && !(association instanceof MapExpression);
+    }
+
+    private static Expression<?> alias(JoinExpression join) {
+        return ((Operation<?>) join.getTarget()).getArg(1);
+    }
+
+    @SuppressWarnings("unchecked")
+    private static void copy(QueryMetadata source, List<JoinExpression> joins, QueryMetadata target) {
+        for (JoinExpression join : joins) {
+            target.addJoin(join.getType(), join.getTarget());
+            if (join.getCondition() != null) {
+                target.addJoinCondition(join.getCondition());
+            }
+            for (JoinFlag flag : join.getFlags()) {
+                target.addJoinFlag(flag);
+            }
+        }
+        if (source.getWhere() != null) {
+            target.addWhere(source.getWhere());
+        }
+        source.getGroupBy().forEach(target::addGroupBy);
+        if (source.getHaving() != null) {
+            target.addHaving(source.getHaving());
+        }
+        source.getOrderBy().forEach(target::addOrderBy);
+        target.setProjection(source.getProjection());
+        target.setModifiers(source.getModifiers());
+        target.setDistinct(source.isDistinct());
+        target.setUnique(source.isUnique());
+        for (QueryFlag flag : source.getFlags()) {
+            target.addFlag(flag);
+        }
+        for (Map.Entry<ParamExpression<?>, Object> param : source.getParams().entrySet()) {
+            target.setParam((ParamExpression<Object>) param.getKey(), param.getValue());
+        }
+    }
+
+    private static void collect(Expression<?> expression, Set<Expression<?>> referenced) {
+        if (expression != null) {
+            expression.accept(ReferencedPaths.INSTANCE, referenced);
+        }
+    }
+
+    // 표현식에서 사용하는 경로의 루트(별칭)를 모은다. 서브쿼리 내부까지 확인한다.
+    private enum ReferencedPaths implements Visitor<Void, Set<Expression<?>>> {
+        INSTANCE;
+
+        @Override
+        public Void visit(Constant<?> expr, Set<Expression<?>> context) {
+            return null;
+        }
+
+        @Override
+        public Void visit(FactoryExpression<?> expr, Set<Expression<?>> context) {
+            expr.getArgs().forEach(arg -> collect(arg, context));
+            return null;
+        }
+
+        @Override
+        public Void visit(Operation<?> expr, Set<Expression<?>> context) {
+            expr.getArgs().forEach(arg -> collect(arg, context));
+            return null;
+        }
+
+        @Override
+        public Void visit(ParamExpression<?> expr, Set<Expression<?>> context) {
+            return null;
+        }
+
+        @Override
+        public Void visit(Path<?> expr, Set<Expression<?>> context) {
+            context.add(expr.getRoot());
+            return null;
+        }
+
+        @Override
+        public Void visit(SubQueryExpression<?> expr, Set<Expression<?>> context) {
+            QueryMetadata metadata = expr.getMetadata();
+            collect(metadata.getProjection(), context);
+            collect(metadata.getWhere(), context);
+            collect(metadata.getHaving(), context);
+            metadata.getGroupBy().forEach(groupBy -> collect(groupBy, context));
+            for (OrderSpecifier<?> orderBy : metadata.getOrderBy()) {
+                collect(orderBy.getTarget(), context);
+            }
+            for (JoinExpression join : metadata.getJoins()) {
+                collect(join.getTarget(), context);
+                collect(join.getCondition(), context);
+            }
+            return null;
+        }
+
+        @Override
+        public Void visit(TemplateExpression<?> expr, Set<Expression<?>> context) {
+            for (Object arg : expr.getArgs()) {
+                if (arg instanceof Expression) {
+                    collect((Expression<?>) arg, context);
+                }
+            }
+            return null;
+        }
+    }
+}
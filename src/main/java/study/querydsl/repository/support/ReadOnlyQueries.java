@@ -0,0 +1,27 @@
+package study.querydsl.repository.support;
+
+import com.querydsl.jpa.impl.JPAQuery;
+import org.hibernate.FlushMode;
+import org.hibernate.jpa.QueryHints;
+
+/**
+ * Created by IntelliJ IDEA.
+ * User: june
+ * Date: 2026-10-17
+ * Time: 20:20
+ **/
+// 조회 전용 쿼리 모드
+// - org.hibernate.readOnly : 조회한 엔티티를 읽기 전용으로 로딩해서 변경감지용 스냅샷을 만들지 않는다. (수정해도 반영되지 않음)
+// - flushMode MANUAL : 쿼리 전에 영속성 컨텍스트를 flush 하지 않는다. (같은 트랜잭션에서 아직 flush 안된 변경은 보이지 않음)
+// 트랜잭션의 readOnly 여부와 상관없이 쿼리 단위로 적용되므로 쓰기 트랜잭션 안의 대량 조회에도 사용할 수 있다.
+public final class ReadOnlyQueries {
+
+    private ReadOnlyQueries() {
+    }
+
+    public static <T> JPAQuery<T> readOnly(JPAQuery<T> query) {
+        return query
+                .setHint(QueryHints.HINT_READONLY, true)
+                .setHint(QueryHints.HINT_FLUSH_MODE, FlushMode.MANUAL);
+    }
+}
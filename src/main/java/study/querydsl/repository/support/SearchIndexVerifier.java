@@ -0,0 +1,215 @@
+package study.querydsl.repository.support;
+
+import lombok.extern.slf4j.Slf4j;
+import org.hibernate.cfg.AvailableSettings;
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.dao.DataAccessException;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import study.querydsl.dto.MemberSearchCondition;
+import study.querydsl.dto.UsernameMatch;
+import study.querydsl.repository.MemberRepository;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Consumer;
+
+/**
+ * Created by IntelliJ IDEA.
+ * User: june
+ * Date: 2026-10-17
+ * Time: 18:10
+ **/
+// 기동시 회원 검색 조건 조합(조건 없음 제외 15가지, 회원명은 EXACT/PREFIX/CONTAINS 각각)마다 /v2 ~ /v5 의 리포지토리 검색을 실행해서
+// 하이버네이트가 실제로 만든 SQL(컨텐츠, 카운트, 키셋)을 EXPLAIN 하고, member 테이블을 풀스캔 하는 SQL 이 있으면 경고한다. (H2 실행계획 기준)
+// 행을 읽지 않도록 페이징되는 검색만 1건씩 실행한다. /v1 검색, /v1/members/export 는 페이징이 없으므로 실행하지 않는다.
+// (v2 컨텐츠 쿼리와 조인/조건이 같고 limit 만 없다.)
+// 검색 캐시, 카운트 캐시, 회원명 인덱스를 거치지 않도록 조합마다 롤백되는 쓰기 트랜잭션 안에서 실행한다. (SharedCacheSupport)
+// 그래서 접두어/포함 검색은 like 로 조회하는 SQL 이 확인된다.
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "member.index-check.enabled", havingValue = "true")
+public class SearchIndexVerifier implements ApplicationRunner {
+
+    // 조합의 i 번째 비트가 켜져 있으면 i 번째 조건을 설정한다.
+    private static final List<Consumer<MemberSearchCondition>> PREDICATES = Arrays.asList(
+            condition -> condition.setUsername("member1"),
+            condition -> condition.setTeamName("teamA"),
+            condition -> condition.setAgeGoe(10),
+            condition -> condition.setAgeLoe(20)
+    );
+
+    // 두번째 페이지를 1건씩 조회하면 결과 건수와 상관없이 카운트 쿼리까지 실행된다. (PageableExecutionUtils)
+    private static final Pageable PAGE = PageRequest.of(1, 1);
+
+    // 두번째 키셋 페이지 (member.id > ? 조건)
+    private static final String CURSOR = MemberCursor.encode(1L);
+
+    private final MemberRepository memberRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final JdbcTemplate jdbcTemplate;
+    private final SqlCapture sqlCapture;
+    private final boolean failOnScan;
+
+    public SearchIndexVerifier(MemberRepository memberRepository, PlatformTransactionManager transactionManager,
+                               JdbcTemplate jdbcTemplate, SqlCapture sqlCapture,
+                               @Value("${member.index-check.fail-on-scan:false}") boolean failOnScan) {
+        this.memberRepository = memberRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.jdbcTemplate = jdbcTemplate;
+        this.sqlCapture = sqlCapture;
+        this.failOnScan = failOnScan;
+    }
+
+    @Override
+    public void run(ApplicationArguments args) {
+        Map<String, String> plans;
+        try {
+            plans = explainSearchQueries();
+        } catch (DataAccessException e) {
+            log.warn("search index check skipped, EXPLAIN is not available: {}", e.getMessage());
+            return;
+        }
+
+        List<String> scans = new ArrayList<>();
+        plans.forEach((sql, plan) -> {
+            if (scansMember(plan)) {
+                scans.add(sql);
+                log.warn("search query scans member table:\n{}\n{}", sql, plan);
+            } else {
+                log.debug("search query uses index:\n{}", plan);
+            }
+        });
+
+        if (scans.isEmpty()) {
+            log.info("search index check passed for {} search queries", plans.size());
+        } else if (failOnScan) {
+            throw new IllegalStateException(scans.size() + " search queries scan the member table: " + scans);
+        }
+    }
+
+    /**
+     * 조건 조합별로 검색을 1건씩 실행하면서 준비된 SQL 과 그 실행계획 (실행 순서, 같은 SQL 은 한번만)
+     */
+    Map<String, String> explainSearchQueries() {
+        Set<String> statements = new LinkedHashSet<>();
+        for (MemberSearchCondition condition : conditions()) {
+            transactionTemplate.execute(status -> {
+                status.setRollbackOnly();
+                statements.addAll(sqlCapture.capture(() -> search(condition)));
+                return null;
+            });
+        }
+
+        Map<String, String> plans = new LinkedHashMap<>();
+        for (String sql : statements) {
+            plans.put(sql, explain(sql));
+        }
+        return plans;
+    }
+
+    // H2 는 파라미터 값과 상관없이 실행계획을 정하므로 모든 파라미터에 같은 값을 바인딩한다.
+    String explain(String sql) {
+        Object[] parameters = new Object[(int) sql.chars().filter(ch -> ch == '?').count()];
+        Arrays.fill(parameters, "1");
+        return jdbcTemplate.queryForObject("explain " + sql, String.class, parameters);
+    }
+
+    static boolean scansMember(String plan) {
+        return plan != null && plan.toLowerCase(Locale.ROOT).contains("member.tablescan");
+    }
+
+    // 회원명 조건이 있는 조합은 검색 방식(EXACT, PREFIX, CONTAINS)마다 확인한다.
+    static List<MemberSearchCondition> conditions() {
+        List<MemberSearchCondition> conditions = new ArrayList<>();
+        for (int mask = 1; mask < (1 << PREDICATES.size()); mask++) {
+            if ((mask & 1) == 0) {
+                conditions.add(condition(mask, null));
+                continue;
+            }
+            for (UsernameMatch match : UsernameMatch.values()) {
+                conditions.add(condition(mask, match));
+            }
+        }
+        return conditions;
+    }
+
+    private static MemberSearchCondition condition(int mask, UsernameMatch usernameMatch) {
+        MemberSearchCondition condition = new MemberSearchCondition();
+        for (int i = 0; i < PREDICATES.size(); i++) {
+            if ((mask & (1 << i)) != 0) {
+                PREDICATES.get(i).accept(condition);
+            }
+        }
+        condition.setUsernameMatch(usernameMatch);
+        return condition;
+    }
+
+    // /v2/members, /v3/members, /v4/members(ID 우선 페이징 포함), /v4/members/slice, /v5/members 의 검색
+    private void search(MemberSearchCondition condition) {
+        memberRepository.searchPageSimple(condition, PAGE);
+        memberRepository.searchPageComplex(condition, PAGE);
+        memberRepository.searchPageComplexOptimization(condition, PAGE, CountMode.EXACT);
+        memberRepository.searchPageIdFirst(condition, PAGE, CountMode.EXACT);
+        memberRepository.searchSliceWithoutCount(condition, PAGE);
+        memberRepository.searchSlice(condition, CURSOR, PAGE.getPageSize());
+    }
+
+    // 현재 스레드에서 하이버네이트가 준비하는 SQL 을 모은다.
+    // 하이버네이트 설정에 등록되어야 하므로 EntityManagerFactory 보다 먼저 만들어지는 별도 빈
+    @Component
+    @ConditionalOnProperty(name = "member.index-check.enabled", havingValue = "true")
+    static class SqlCapture implements StatementInspector, HibernatePropertiesCustomizer {
+
+        private final ThreadLocal<List<String>> captured = new ThreadLocal<>();
+
+        @Override
+        public void customize(Map<String, Object> hibernateProperties) {
+            hibernateProperties.put(AvailableSettings.STATEMENT_INSPECTOR, this);
+        }
+
+        @Override
+        public String inspect(String sql) {
+            List<String> statements = captured.get();
+            if (statements != null) {
+                statements.add(withoutComment(sql));
+            }
+            return sql;
+        }
+
+        List<String> capture(Runnable action) {
+            List<String> statements = new ArrayList<>();
+            captured.set(statements);
+            try {
+                action.run();
+            } finally {
+                captured.remove();
+            }
+            return statements;
+        }
+
+        // use_sql_comments 의 JPQL 주석에는 ?1 같은 JPQL 파라미터가 들어있으므로 떼어낸다.
+        private static String withoutComment(String sql) {
+            String trimmed = sql.trim();
+            if (trimmed.startsWith("/*")) {
+                return trimmed.substring(trimmed.indexOf("*/") + 2).trim();
+            }
+            return trimmed;
+        }
+    }
+}
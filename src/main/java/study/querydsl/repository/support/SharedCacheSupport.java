@@ -0,0 +1,34 @@
+package study.querydsl.repository.support;
+
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Created by IntelliJ IDEA.
+ * User: june
+ * Date: 2026-10-17
+ * Time: 11:05
+ **/
+public final class SharedCacheSupport {
+
+    private SharedCacheSupport() {
+    }
+
+    /**
+     * 쓰기 트랜잭션 안에서는 아직 커밋되지 않은(롤백될 수도 있는) 변경이 보이기 때문에
+     * 애플리케이션 전역 캐시를 읽거나 채우면 안된다.
+     * 트랜잭션이 없거나 readOnly 트랜잭션일 때만 공유 캐시를 사용한다.
+     * @return
+     */
+    public static boolean isUsable() {
+        return !isReadWriteTransactionActive();
+    }
+
+    /**
+     * 현재 스레드에 readOnly 가 아닌 실제 트랜잭션이 있는지
+     * 이 트랜잭션의 커밋되지 않은 변경은 다른 커넥션(별도 스레드의 쿼리)에서 보이지 않는다.
+     */
+    public static boolean isReadWriteTransactionActive() {
+        return TransactionSynchronizationManager.isActualTransactionActive()
+                && !TransactionSynchronizationManager.isCurrentTransactionReadOnly();
+    }
+}
@@ -0,0 +1,134 @@
+package study.querydsl.repository.support;
+
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+
+/**
+ * Created by IntelliJ IDEA.
+ * User: june
+ * Date: 2026-10-17
+ * Time: 22:45
+ **/
+// 회원명 -> 회원 id 메모리 인덱스
+// - 접두어 검색: 회원명 정렬 맵의 범위 조회
+// - 포함 검색: 3-gram 역색인에서 가장 작은 posting 목록을 후보로 잡고 실제 회원명으로 확인 (3글자 이상)
+// 쓰기는 synchronized 로 한번에 하나씩, 읽기는 락 없이 동시에 한다.
+// 읽는 도중 쓰기가 일어나도 후보는 항상 usernames(정답)로 다시 확인하므로 잘못된 id 를 반환하지 않는다.
+public class UsernameIndex {
+
+    private static final int GRAM = 3;
+
+    private final Map<Long, String> usernames = new ConcurrentHashMap<>();
+    private final ConcurrentSkipListMap<String, Set<Long>> byUsername = new ConcurrentSkipListMap<>();
+    private final Map<String, Set<Long>> byGram = new ConcurrentHashMap<>();
+
+    /**
+     * username 이 null 이면 제거
+     */
+    public synchronized void put(Long id, String username) {
+        String previous = username == null ? usernames.remove(id) : usernames.put(id, username);
+        if (Objects.equals(previous, username)) {
+            return;
+        }
+        if (previous != null) {
+            unindex(id, previous);
+        }
+        if (username != null) {
+            index(id, username);
+        }
+    }
+
+    public void remove(Long id) {
+        put(id, null);
+    }
+
+    public int size() {
+        return usernames.size();
+    }
+
+    /**
+     * @return 결과가 limit 건을 넘으면 empty (인덱스로 id 목록을 만드는 것보다 DB 조회가 낫다)
+     */
+    public Optional<Set<Long>> findByPrefix(String prefix, int limit) {
+        Set<Long> result = new HashSet<>();
+        for (Set<Long> ids : byUsername.subMap(prefix, true, prefix + Character.MAX_VALUE, false).values()) {
+            for (Long id : ids) {
+                String username = usernames.get(id);
+                if (username != null && username.startsWith(prefix) && result.add(id) && result.size() > limit) {
+                    return Optional.empty();
+                }
+            }
+        }
+        return Optional.of(result);
+    }
+
+    /**
+     * @return 3글자 미만이거나 결과가 limit 건을 넘으면 empty
+     *         (3글자 미만은 3-gram 으로 후보를 줄일 수 없어 전체 회원명을 확인해야 하므로 DB 조회가 낫다)
+     */
+    public Optional<Set<Long>> findContaining(String value, int limit) {
+        if (value.length() < GRAM) {
+            return Optional.empty();
+        }
+        Set<Long> result = new HashSet<>();
+        for (Long id : candidates(value)) {
+            String username = usernames.get(id);
+            if (username != null && username.contains(value) && result.add(id) && result.size() > limit) {
+                return Optional.empty();
+            }
+        }
+        return Optional.of(result);
+    }
+
+    // 검색어의 3-gram 중 가장 작은 posting 목록 (3글자 이상)
+    private Set<Long> candidates(String value) {
+        Set<Long> smallest = null;
+        for (String gram : grams(value)) {
+            Set<Long> ids = byGram.get(gram);
+            if (ids == null) {
+                return new HashSet<>();
+            }
+            if (smallest == null || ids.size() < smallest.size()) {
+                smallest = ids;
+            }
+        }
+        return smallest;
+    }
+
+    private void index(Long id, String username) {
+        byUsername.computeIfAbsent(username, key -> ConcurrentHashMap.newKeySet()).add(id);
+        for (String gram : grams(username)) {
+            byGram.computeIfAbsent(gram, key -> ConcurrentHashMap.newKeySet()).add(id);
+        }
+    }
+
+    private void unindex(Long id, String username) {
+        removePosting(byUsername, username, id);
+        for (String gram : grams(username)) {
+            removePosting(byGram, gram, id);
+        }
+    }
+
+    private static void removePosting(Map<String, Set<Long>> postings, String key, Long id) {
+        Set<Long> ids = postings.get(key);
+        if (ids != null) {
+            ids.remove(id);
+            if (ids.isEmpty()) {
+                postings.remove(key);
+            }
+        }
+    }
+
+    private static Set<String> grams(String value) {
+        Set<String> grams = new HashSet<>();
+        for (int i = 0; i + GRAM <= value.length(); i++) {
+            grams.add(value.substring(i, i + GRAM));
+        }
+        return grams;
+    }
+}
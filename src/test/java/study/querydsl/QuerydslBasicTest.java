@@ -21,6 +21,7 @@ import study.querydsl.dto.MemberDto;
 import study.querydsl.dto.QMemberDto;
 import study.querydsl.dto.UserDto;
 import study.querydsl.entity.*;
+import study.querydsl.repository.support.DtoProjections;
 
 import javax.persistence.EntityManager;
 import javax.persistence.EntityManagerFactory;
@@ -739,6 +740,20 @@ public class QuerydslBasicTest {
         // 순수한 DTO가 아니게 된다. (아키텍쳐 적인 문제)
     }
 
+    @Test
+    public void findDtoByDirectProjection() {
+        // 람다로 생성자를 직접 호출하는 방식
+        // 리플렉션을 사용하지 않고, DTO도 Querydsl에 의존하지 않는다.
+        List<MemberDto> result = queryFactory
+                .select(DtoProjections.memberDto(member.username, member.age))
+                .from(member)
+                .orderBy(member.username.asc())
+                .fetch();
+
+        assertThat(result).extracting("username").containsExactly("member1", "member2", "member3", "member4");
+        assertThat(result).extracting("age").containsExactly(10, 20, 30, 40);
+    }
+
     @Test
     public void distinct() {
         List<String> result = queryFactory
@@ -0,0 +1,81 @@
+package study.querydsl.config;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import reactor.core.scheduler.Scheduler;
+
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class JdbcSchedulerConfigTest {
+
+    private final CountDownLatch release = new CountDownLatch(1);
+    private Scheduler jdbcScheduler;
+
+    @AfterEach
+    public void after() {
+        release.countDown();
+        jdbcScheduler.dispose();
+    }
+
+    @Test
+    public void threadsAreBounded() throws Exception {
+        // given
+        jdbcScheduler = new JdbcSchedulerConfig().jdbcScheduler(2, 100);
+        AtomicInteger running = new AtomicInteger();
+        AtomicInteger maxRunning = new AtomicInteger();
+        Set<String> threadNames = ConcurrentHashMap.newKeySet();
+        CountDownLatch finished = new CountDownLatch(6);
+
+        // when
+        for (int i = 0; i < 6; i++) {
+            jdbcScheduler.schedule(() -> {
+                maxRunning.accumulateAndGet(running.incrementAndGet(), Math::max);
+                threadNames.add(Thread.currentThread().getName());
+                try {
+                    release.await(50, TimeUnit.MILLISECONDS);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                } finally {
+                    running.decrementAndGet();
+                    finished.countDown();
+                }
+            });
+        }
+
+        // then
+        // 넘치는 작업은 큐에서 기다렸다가 실행된다.
+        assertThat(finished.await(5, TimeUnit.SECONDS)).isTrue();
+        assertThat(maxRunning.get()).isEqualTo(2);
+        assertThat(threadNames).hasSizeLessThanOrEqualTo(2).allMatch(name -> name.startsWith("jdbc"));
+    }
+
+    @Test
+    public void rejectsWhenQueueIsFull() throws Exception {
+        // given
+        // 스레드 1개 + 대기 1개
+        jdbcScheduler = new JdbcSchedulerConfig().jdbcScheduler(1, 1);
+        CountDownLatch started = new CountDownLatch(1);
+        jdbcScheduler.schedule(() -> {
+            started.countDown();
+            try {
+                release.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        });
+        assertThat(started.await(5, TimeUnit.SECONDS)).isTrue();
+        jdbcScheduler.schedule(() -> { });
+
+        // when, then
+        assertThatThrownBy(() -> jdbcScheduler.schedule(() -> { }))
+                .isInstanceOf(RejectedExecutionException.class);
+    }
+}
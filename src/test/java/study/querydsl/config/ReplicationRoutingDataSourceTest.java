@@ -0,0 +1,110 @@
+package study.querydsl.config;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+import java.util.Arrays;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// 프라이머리/레플리카 역할의 H2 메모리 DB 두개로 라우팅 확인
+class ReplicationRoutingDataSourceTest {
+
+    private DataSource primary;
+    private DataSource replica;
+    private ReplicationRoutingDataSource routingDataSource;
+    private JdbcTemplate jdbcTemplate;
+    private TransactionTemplate readOnlyTransaction;
+    private TransactionTemplate readWriteTransaction;
+
+    @BeforeEach
+    public void before() {
+        primary = createNode("routing_primary", "primary");
+        replica = createNode("routing_replica", "replica");
+
+        routingDataSource = new ReplicationRoutingDataSource(primary, Arrays.asList(replica));
+        routingDataSource.afterPropertiesSet();
+        DataSource dataSource = new LazyConnectionDataSourceProxy(routingDataSource);
+
+        jdbcTemplate = new JdbcTemplate(dataSource);
+        DataSourceTransactionManager transactionManager = new DataSourceTransactionManager(dataSource);
+        readOnlyTransaction = new TransactionTemplate(transactionManager);
+        readOnlyTransaction.setReadOnly(true);
+        readWriteTransaction = new TransactionTemplate(transactionManager);
+    }
+
+    @AfterEach
+    public void after() {
+        new JdbcTemplate(primary).execute("drop all objects");
+        new JdbcTemplate(replica).execute("drop all objects");
+    }
+
+    @Test
+    public void routeByReadOnly() throws Exception {
+        assertThat(readOnlyTransaction.execute(status -> nodeName())).isEqualTo("replica");
+        assertThat(readWriteTransaction.execute(status -> nodeName())).isEqualTo("primary");
+        // 트랜잭션 밖의 쿼리는 프라이머리
+        assertThat(nodeName()).isEqualTo("primary");
+    }
+
+    @Test
+    public void laggingReplicaExcluded() throws Exception {
+        ReplicaLagMonitor monitor = new ReplicaLagMonitor(primary, routingDataSource.getReplicas(),
+                Duration.ofSeconds(5), Duration.ofSeconds(1));
+        routingDataSource.setReplicaHealth(monitor);
+        try {
+            // 레플리카에 하트비트가 복제되지 않으므로 지연된 것으로 보고 프라이머리에서 읽는다.
+            monitor.start();
+            assertThat(readOnlyTransaction.execute(status -> nodeName())).isEqualTo("primary");
+
+            // 하트비트가 복제되면 다시 레플리카를 사용
+            new JdbcTemplate(replica).execute(
+                    "create table replication_heartbeat (id int primary key, beat_at timestamp not null)");
+            new JdbcTemplate(replica).update(
+                    "insert into replication_heartbeat (id, beat_at) values (1, current_timestamp)");
+            monitor.check();
+            assertThat(readOnlyTransaction.execute(status -> nodeName())).isEqualTo("replica");
+        } finally {
+            monitor.stop();
+        }
+    }
+
+    @Test
+    public void primaryAfterCommit() throws Exception {
+        routingDataSource.setPrimaryAfterCommit(Duration.ofMillis(300));
+
+        // 롤백된 쓰기 트랜잭션은 영향 없음
+        readWriteTransaction.execute(status -> {
+            status.setRollbackOnly();
+            return nodeName();
+        });
+        assertThat(readOnlyTransaction.execute(status -> nodeName())).isEqualTo("replica");
+
+        // 커밋 직후에는 아직 복제되지 않았을 수 있으므로 프라이머리에서 읽는다.
+        readWriteTransaction.execute(status -> nodeName());
+        assertThat(readOnlyTransaction.execute(status -> nodeName())).isEqualTo("primary");
+
+        Thread.sleep(400);
+        assertThat(readOnlyTransaction.execute(status -> nodeName())).isEqualTo("replica");
+    }
+
+    private String nodeName() {
+        return jdbcTemplate.queryForObject("select name from node", String.class);
+    }
+
+    private DataSource createNode(String database, String name) {
+        DataSource dataSource = new DriverManagerDataSource("jdbc:h2:mem:" + database + ";DB_CLOSE_DELAY=-1", "sa", "");
+        JdbcTemplate template = new JdbcTemplate(dataSource);
+        template.execute("create table node (name varchar(20))");
+        template.update("insert into node (name) values (?)", name);
+        return dataSource;
+    }
+}
@@ -0,0 +1,69 @@
+package study.querydsl.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.support.DefaultListableBeanFactory;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.mock.env.MockEnvironment;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class RoutingDataSourceConfigTest {
+
+    private final RoutingDataSourceConfig config = new RoutingDataSourceConfig();
+
+    @AfterEach
+    public void after() {
+        config.close();
+    }
+
+    @Test
+    public void nodePoolsUseHikariSettings() throws Exception {
+        // given
+        // prod 프로파일과 같은 기본 풀 설정
+        MockEnvironment environment = new MockEnvironment()
+                .withProperty("spring.datasource.hikari.auto-commit", "false")
+                .withProperty("spring.datasource.hikari.connection-timeout", "3000")
+                .withProperty("spring.datasource.hikari.leak-detection-threshold", "10000");
+
+        RoutingDataSourceProperties properties = new RoutingDataSourceProperties();
+        properties.getPrimary().setUrl("jdbc:h2:mem:routing_config_primary");
+        properties.getPrimary().setMaximumPoolSize(3);
+        RoutingDataSourceProperties.Node replica = new RoutingDataSourceProperties.Node();
+        replica.setUrl("jdbc:h2:mem:routing_config_replica");
+        properties.setReplicas(Collections.singletonList(replica));
+        properties.getRouting().setMaxReplicaLag(Duration.ZERO);
+
+        // when
+        DataSource dataSource = config.dataSource(properties,
+                new DefaultListableBeanFactory().getBeanProvider(MeterRegistry.class), environment);
+
+        // then
+        ReplicationRoutingDataSource routing =
+                (ReplicationRoutingDataSource) ((LazyConnectionDataSourceProxy) dataSource).getTargetDataSource();
+        List<DataSource> nodes = new ArrayList<>(routing.getReplicas().values());
+        nodes.add(routing.getPrimary());
+        for (DataSource node : nodes) {
+            HikariDataSource pool = (HikariDataSource) node;
+            assertThat(pool.isAutoCommit()).isFalse();
+            assertThat(pool.getConnectionTimeout()).isEqualTo(3000);
+            assertThat(pool.getLeakDetectionThreshold()).isEqualTo(10000);
+            // provider_disables_autocommit 이 믿는 대로 풀에서 꺼낸 커넥션은 autocommit 이 꺼져 있다.
+            try (Connection connection = pool.getConnection()) {
+                assertThat(connection.getAutoCommit()).isFalse();
+            }
+        }
+        // 풀 이름, 크기는 노드 설정
+        assertThat(((HikariDataSource) routing.getPrimary()).getPoolName()).isEqualTo("primary");
+        assertThat(((HikariDataSource) routing.getPrimary()).getMaximumPoolSize()).isEqualTo(3);
+    }
+}
@@ -0,0 +1,157 @@
+package study.querydsl.controller;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.server.ResponseStatusException;
+import reactor.core.scheduler.Scheduler;
+import reactor.core.scheduler.Schedulers;
+import study.querydsl.dto.BatchSearchResult;
+import study.querydsl.dto.MemberSearchCondition;
+import study.querydsl.dto.MemberTeamDto;
+import study.querydsl.repository.MemberRepository;
+
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static study.querydsl.dto.BatchSearchResult.Status.ERROR;
+import static study.querydsl.dto.BatchSearchResult.Status.OK;
+import static study.querydsl.dto.BatchSearchResult.Status.TIMEOUT;
+
+class MemberBatchSearchTest {
+
+    private final MemberRepository memberRepository = mock(MemberRepository.class);
+    private Scheduler jdbcScheduler;
+
+    @BeforeEach
+    public void before() {
+        jdbcScheduler = Schedulers.newBoundedElastic(4, 100, "test-jdbc");
+    }
+
+    @AfterEach
+    public void after() {
+        jdbcScheduler.dispose();
+    }
+
+    @Test
+    public void resultsInRequestOrderAndSameConditionOnce() throws Exception {
+        // given
+        when(memberRepository.search(any())).thenAnswer(invocation -> {
+            MemberSearchCondition condition = invocation.getArgument(0);
+            return Collections.singletonList(new MemberTeamDto(1L, condition.getUsername(), 10, null, null));
+        });
+        MemberSearchCondition sameAsA = condition("a");
+        // 빈 팀명은 조건이 없는것과 같다.
+        sameAsA.setTeamName("");
+
+        // when
+        List<BatchSearchResult> results = batchSearch(4)
+                .search(Arrays.asList(condition("a"), condition("b"), sameAsA), 1000)
+                .block(Duration.ofSeconds(5));
+
+        // then
+        assertThat(results).extracting("status").containsExactly(OK, OK, OK);
+        assertThat(results).extracting(result -> result.getContent().get(0).getUsername()).containsExactly("a", "b", "a");
+        verify(memberRepository, times(1)).search(condition("a").normalized());
+        verify(memberRepository, times(2)).search(any());
+    }
+
+    @Test
+    public void timeoutAndErrorPerCondition() throws Exception {
+        // given
+        CountDownLatch release = new CountDownLatch(1);
+        when(memberRepository.search(any())).thenAnswer(invocation -> {
+            String username = ((MemberSearchCondition) invocation.getArgument(0)).getUsername();
+            if ("slow".equals(username)) {
+                release.await();
+            }
+            if ("fail".equals(username)) {
+                throw new IllegalStateException("boom");
+            }
+            return Collections.emptyList();
+        });
+
+        // when
+        List<BatchSearchResult> results;
+        try {
+            results = batchSearch(4)
+                    .search(Arrays.asList(condition("slow"), condition("fail"), condition("ok")), 100)
+                    .block(Duration.ofSeconds(5));
+        } finally {
+            release.countDown();
+        }
+
+        // then
+        assertThat(results).extracting("status").containsExactly(TIMEOUT, ERROR, OK);
+        assertThat(results.get(1).getError()).isEqualTo("IllegalStateException");
+    }
+
+    @Test
+    public void timedOutQueryKeepsItsSlot() throws Exception {
+        // given
+        AtomicInteger running = new AtomicInteger();
+        AtomicInteger maxRunning = new AtomicInteger();
+        when(memberRepository.search(any())).thenAnswer(invocation -> {
+            maxRunning.accumulateAndGet(running.incrementAndGet(), Math::max);
+            try {
+                if ("slow".equals(((MemberSearchCondition) invocation.getArgument(0)).getUsername())) {
+                    // 타임아웃(100ms)이 지나도 300ms 동안 실행된다.
+                    new CountDownLatch(1).await(300, TimeUnit.MILLISECONDS);
+                }
+                return Collections.emptyList();
+            } finally {
+                running.decrementAndGet();
+            }
+        });
+
+        // when
+        List<BatchSearchResult> results = batchSearch(1)
+                .search(Arrays.asList(condition("slow"), condition("ok")), 100)
+                .block(Duration.ofSeconds(5));
+
+        // then
+        // 느린 쿼리가 끝난 뒤에야 다음 조건이 실행된다.
+        assertThat(results).extracting("status").containsExactly(TIMEOUT, OK);
+        assertThat(maxRunning.get()).isEqualTo(1);
+    }
+
+    @Test
+    public void badRequest() throws Exception {
+        MemberBatchSearch batchSearch = batchSearch(4);
+        List<MemberSearchCondition> tooMany = Arrays.asList(condition("a"), condition("b"), condition("c"), condition("d"));
+
+        assertBadRequest(() -> batchSearch.search(tooMany, 1000));
+        assertBadRequest(() -> batchSearch.search(Collections.singletonList(condition("a")), 0));
+        assertBadRequest(() -> batchSearch.search(Collections.singletonList(condition("a")), 1001));
+    }
+
+    // 최대 조건 3개, 최대 타임아웃 1000ms
+    private MemberBatchSearch batchSearch(int parallelism) {
+        return new MemberBatchSearch(memberRepository, jdbcScheduler, parallelism, 3, 1000);
+    }
+
+    private static MemberSearchCondition condition(String username) {
+        MemberSearchCondition condition = new MemberSearchCondition();
+        condition.setUsername(username);
+        return condition;
+    }
+
+    private static void assertBadRequest(Runnable request) {
+        assertThatThrownBy(request::run)
+                .isInstanceOfSatisfying(ResponseStatusException.class,
+                        e -> assertThat(e.getStatus()).isEqualTo(HttpStatus.BAD_REQUEST));
+    }
+}
@@ -0,0 +1,105 @@
+package study.querydsl.controller;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.transaction.annotation.Transactional;
+import study.querydsl.entity.Member;
+import study.querydsl.entity.Team;
+
+import javax.persistence.EntityManager;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.hamcrest.Matchers.not;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@Transactional
+class MemberControllerTest {
+
+    @Autowired MockMvc mockMvc;
+    @Autowired EntityManager em;
+    @Autowired MeterRegistry meterRegistry;
+
+    private Team teamA;
+
+    @BeforeEach
+    public void before() {
+        teamA = new Team("teamA");
+        em.persist(teamA);
+        em.persist(new Member("member1", 10, teamA));
+        em.persist(new Member("member2", 20, teamA));
+        em.flush();
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {"/v1/members", "/v2/members", "/v3/members", "/v4/members"})
+    public void conditionalGet(String uri) throws Exception {
+        // 첫 조회는 200 + ETag
+        String etag = mockMvc.perform(get(uri).param("teamName", "teamA"))
+                .andExpect(status().isOk())
+                .andExpect(header().exists(HttpHeaders.ETAG))
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+
+        // 데이터가 그대로면 304, DB 조회 없음 (QueryCountFilter 가 요청별 SQL 실행 횟수를 기록한다.)
+        DistributionSummary queries = meterRegistry.get("member.request.queries").tag("uri", uri).summary();
+        long requests = queries.count();
+        double statements = queries.totalAmount();
+
+        mockMvc.perform(get(uri).param("teamName", "teamA").header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isNotModified())
+                .andExpect(content().string(""));
+
+        assertThat(queries.count()).isEqualTo(requests + 1);
+        assertThat(queries.totalAmount()).isEqualTo(statements);
+
+        // 검색조건이 다르면 다른 ETag
+        mockMvc.perform(get(uri).param("teamName", "teamB").header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isOk());
+
+        // 데이터가 바뀌면 같은 If-None-Match 라도 200 + 새 ETag
+        em.persist(new Member("member3", 30, teamA));
+        em.flush();
+
+        mockMvc.perform(get(uri).param("teamName", "teamA").header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ETAG, not(etag)));
+    }
+
+    @Test
+    public void invalidSliceRequest() throws Exception {
+        // 잘못된 커서, 범위를 벗어난 size 는 400
+        mockMvc.perform(get("/v5/members").param("cursor", "not-a-cursor"))
+                .andExpect(status().isBadRequest());
+        mockMvc.perform(get("/v5/members").param("size", "0"))
+                .andExpect(status().isBadRequest());
+        mockMvc.perform(get("/v5/members").param("size", "1001"))
+                .andExpect(status().isBadRequest());
+
+        mockMvc.perform(get("/v5/members").param("size", "1000"))
+                .andExpect(status().isOk());
+    }
+
+    @Test
+    public void invalidExportFetchSize() throws Exception {
+        mockMvc.perform(get("/v1/members/export").param("fetchSize", "0"))
+                .andExpect(status().isBadRequest());
+        mockMvc.perform(get("/v1/members/export").param("fetchSize", "10001"))
+                .andExpect(status().isBadRequest());
+
+        mockMvc.perform(get("/v1/members/export").param("fetchSize", "1"))
+                .andExpect(status().isOk());
+    }
+}
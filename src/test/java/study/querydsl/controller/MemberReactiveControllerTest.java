@@ -0,0 +1,114 @@
+package study.querydsl.controller;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import study.querydsl.entity.Member;
+import study.querydsl.entity.Team;
+import study.querydsl.entity.event.MemberChangedEvent;
+
+import javax.persistence.EntityManager;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.hamcrest.Matchers.containsInAnyOrder;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+// 조회가 jdbcScheduler 스레드에서 실행되므로 테스트 트랜잭션 없이 커밋된 데이터로 테스트한다.
+@SpringBootTest
+@AutoConfigureMockMvc
+class MemberReactiveControllerTest {
+
+    @Autowired MockMvc mockMvc;
+    @Autowired ObjectMapper objectMapper;
+    @Autowired EntityManager em;
+    @Autowired PlatformTransactionManager transactionManager;
+    @Autowired ApplicationEventPublisher eventPublisher;
+
+    private TransactionTemplate transactionTemplate;
+
+    @BeforeEach
+    public void before() {
+        transactionTemplate = new TransactionTemplate(transactionManager);
+        transactionTemplate.execute(status -> {
+            Team teamA = new Team("teamA");
+            Team teamB = new Team("teamB");
+            em.persist(teamA);
+            em.persist(teamB);
+            for (int i = 1; i <= 5; i++) {
+                em.persist(new Member("member" + i, i * 10, teamA));
+            }
+            em.persist(new Member("member6", 60, teamB));
+            return null;
+        });
+    }
+
+    @AfterEach
+    public void after() {
+        transactionTemplate.execute(status -> {
+            em.createQuery("delete from Member").executeUpdate();
+            em.createQuery("delete from Team").executeUpdate();
+            eventPublisher.publishEvent(MemberChangedEvent.bulk());
+            return null;
+        });
+    }
+
+    @Test
+    public void searchMemberV6() throws Exception {
+        // 서블릿 스레드는 비동기 요청으로 반환되고, 결과는 async dispatch 로 쓴다.
+        MvcResult result = mockMvc.perform(get("/v6/members").param("teamName", "teamA").param("ageGoe", "30"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(3))
+                .andExpect(jsonPath("$[*].username", containsInAnyOrder("member3", "member4", "member5")));
+    }
+
+    @Test
+    public void streamMemberV6() throws Exception {
+        // given
+        // 페이지 크기 2 -> 키셋 페이지 3개를 이어서 스트리밍
+        MvcResult result = mockMvc.perform(get("/v6/members/stream")
+                        .param("teamName", "teamA")
+                        .param("pageSize", "2")
+                        .accept(MediaType.APPLICATION_STREAM_JSON))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        // when
+        result.getAsyncResult(5_000);
+
+        // then
+        // 한 줄에 회원 하나 (application/stream+json), id 순서
+        assertThat(result.getResponse().getContentType()).startsWith(MediaType.APPLICATION_STREAM_JSON_VALUE);
+        List<String> usernames = new ArrayList<>();
+        List<Long> memberIds = new ArrayList<>();
+        for (String line : result.getResponse().getContentAsString().split("\n")) {
+            if (!line.trim().isEmpty()) {
+                JsonNode member = objectMapper.readTree(line);
+                usernames.add(member.get("username").asText());
+                memberIds.add(member.get("memberId").asLong());
+            }
+        }
+        assertThat(usernames).containsExactly("member1", "member2", "member3", "member4", "member5");
+        assertThat(memberIds).isSorted();
+    }
+}
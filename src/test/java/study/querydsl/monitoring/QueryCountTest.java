@@ -0,0 +1,31 @@
+package study.querydsl.monitoring;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class QueryCountTest {
+
+    @Test
+    public void nPlusOneSuspects() throws Exception {
+        // given
+        QueryCount queryCount = new QueryCount();
+        queryCount.recordStatement("/* select m from Member m */ select member0_.member_id from member member0_", 10);
+        for (int i = 0; i < 3; i++) {
+            // Member.team 지연로딩
+            queryCount.recordStatement("/* load study.querydsl.entity.Team */ select team0_.id from team team0_ where team0_.id=?", 10);
+        }
+        queryCount.recordStatement("update member set age=age+1", 10);
+
+        // when
+        Map<String, Integer> suspects = queryCount.nPlusOneSuspects(3);
+
+        // then
+        assertThat(queryCount.getStatements()).isEqualTo(5);
+        assertThat(queryCount.getJdbcNanos()).isEqualTo(50);
+        assertThat(suspects).containsOnlyKeys("select team0_.id from team team0_ where team0_.id=?");
+        assertThat(suspects).containsValue(3);
+    }
+}
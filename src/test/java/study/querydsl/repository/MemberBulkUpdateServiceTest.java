@@ -0,0 +1,175 @@
+package study.querydsl.repository;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.event.EventListener;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationAdapter;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import study.querydsl.entity.Member;
+import study.querydsl.entity.Team;
+import study.querydsl.entity.event.ChangeType;
+import study.querydsl.entity.event.MemberChangedEvent;
+
+import javax.persistence.EntityManager;
+import javax.persistence.EntityManagerFactory;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static study.querydsl.entity.QMember.member;
+
+// 청크는 백그라운드 스레드에서 각자 커밋되므로 테스트 트랜잭션 없이 실행한다.
+@SpringBootTest
+class MemberBulkUpdateServiceTest {
+
+    @Autowired EntityManager em;
+    @Autowired PlatformTransactionManager transactionManager;
+    @Autowired ApplicationEventPublisher eventPublisher;
+    @Autowired MemberBulkUpdateService memberBulkUpdateService;
+    @Autowired ChunkRecorder chunkRecorder;
+
+    private TransactionTemplate transactionTemplate;
+    private final List<Long> youngIds = new ArrayList<>();
+
+    @BeforeEach
+    public void before() {
+        transactionTemplate = new TransactionTemplate(transactionManager);
+        transactionTemplate.execute(status -> {
+            Team teamA = new Team("teamA");
+            em.persist(teamA);
+            for (int age : new int[]{10, 20, 30, 15, 25, 35, 12}) {
+                Member saved = new Member("member" + age, age, teamA);
+                em.persist(saved);
+                if (age < 28) {
+                    youngIds.add(saved.getId());
+                }
+            }
+            return null;
+        });
+        chunkRecorder.reset();
+    }
+
+    @AfterEach
+    public void after() {
+        transactionTemplate.execute(status -> {
+            em.createQuery("delete from Member").executeUpdate();
+            em.createQuery("delete from Team").executeUpdate();
+            eventPublisher.publishEvent(MemberChangedEvent.bulk());
+            return null;
+        });
+    }
+
+    @Test
+    public void updateInChunks() throws Exception {
+        // when
+        BulkUpdateProgress progress = memberBulkUpdateService.updateInChunks(member.age.lt(28),
+                clause -> clause.set(member.username, "비회원"), 2, 0);
+        long updated = progress.getCompletion().get(10, TimeUnit.SECONDS);
+
+        // then
+        // 대상 id 구간을 2개씩 나눈 청크
+        long minId = Collections.min(youngIds);
+        long maxId = Collections.max(youngIds);
+        int expectedChunks = (int) ((maxId - minId) / 2 + 1);
+        assertThat(progress.getMinId()).isEqualTo(minId);
+        assertThat(progress.getMaxId()).isEqualTo(maxId);
+        assertThat(progress.getChunks()).isEqualTo(expectedChunks);
+
+        // 진행상황
+        assertThat(updated).isEqualTo(youngIds.size());
+        assertThat(progress.getUpdatedRows()).isEqualTo(youngIds.size());
+        assertThat(progress.getRatio()).isEqualTo(1.0);
+        assertThat(progress.isDone()).isTrue();
+
+        // 청크마다 별도 트랜잭션으로 커밋되고 BULK 이벤트를 발행한다.
+        assertThat(chunkRecorder.bulkEvents.get()).isEqualTo(expectedChunks);
+        assertThat(chunkRecorder.transactions).hasSize(expectedChunks);
+        assertThat(chunkRecorder.commits.get()).isEqualTo(expectedChunks);
+
+        // 경계의 회원까지 모두 변경되고, 대상이 아닌 회원은 그대로
+        List<Member> members = transactionTemplate.execute(status -> em
+                .createQuery("select m from Member m order by m.id", Member.class)
+                .getResultList());
+        for (Member found : members) {
+            if (youngIds.contains(found.getId())) {
+                assertThat(found.getUsername()).isEqualTo("비회원");
+            } else {
+                assertThat(found.getUsername()).isEqualTo("member" + found.getAge());
+            }
+        }
+    }
+
+    @Test
+    public void noTargetRows() throws Exception {
+        // when
+        BulkUpdateProgress progress = memberBulkUpdateService.updateInChunks(member.age.gt(100),
+                clause -> clause.set(member.username, "비회원"), 2, 0);
+
+        // then
+        assertThat(progress.isDone()).isTrue();
+        assertThat(progress.getCompletion().get()).isEqualTo(0L);
+        assertThat(progress.getChunks()).isEqualTo(0);
+        assertThat(progress.getRatio()).isEqualTo(1.0);
+        assertThat(chunkRecorder.bulkEvents.get()).isEqualTo(0);
+    }
+
+    // 벌크 업데이트 스레드에서 발행된 BULK 이벤트와 그 트랜잭션을 기록한다.
+    @TestConfiguration
+    static class ChunkRecorderConfig {
+
+        @Bean
+        ChunkRecorder chunkRecorder(EntityManagerFactory entityManagerFactory) {
+            return new ChunkRecorder(entityManagerFactory);
+        }
+    }
+
+    static class ChunkRecorder {
+
+        private final EntityManagerFactory entityManagerFactory;
+        final AtomicInteger bulkEvents = new AtomicInteger();
+        final AtomicInteger commits = new AtomicInteger();
+        final Set<Object> transactions = Collections.synchronizedSet(Collections.newSetFromMap(new IdentityHashMap<>()));
+
+        ChunkRecorder(EntityManagerFactory entityManagerFactory) {
+            this.entityManagerFactory = entityManagerFactory;
+        }
+
+        void reset() {
+            bulkEvents.set(0);
+            commits.set(0);
+            transactions.clear();
+        }
+
+        @EventListener
+        public void onChange(MemberChangedEvent event) {
+            if (event.getType() != ChangeType.BULK || !"member-bulk-update".equals(Thread.currentThread().getName())) {
+                return;
+            }
+            bulkEvents.incrementAndGet();
+            // 트랜잭션마다 EntityManager 가 바인딩된다.
+            transactions.add(TransactionSynchronizationManager.getResource(entityManagerFactory));
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronizationAdapter() {
+                @Override
+                public void afterCompletion(int status) {
+                    if (status == TransactionSynchronization.STATUS_COMMITTED) {
+                        commits.incrementAndGet();
+                    }
+                }
+            });
+        }
+    }
+}
@@ -1,15 +1,18 @@
 package study.querydsl.repository;
 
+import org.hibernate.Session;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.transaction.annotation.Transactional;
 import study.querydsl.dto.MemberSearchCondition;
 import study.querydsl.dto.MemberTeamDto;
+import study.querydsl.dto.UsernameMatch;
 import study.querydsl.entity.Member;
 import study.querydsl.entity.Team;
 
 import javax.persistence.EntityManager;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Optional;
 
@@ -122,4 +125,142 @@ class MemberJpaRepositoryTest {
                 .extracting("username")
                 .containsExactly("member4");
     }
-}
\ No newline at end of file
+
+    @Test
+    public void bulkAddAge() throws Exception {
+        // given
+        Team teamA = new Team("teamA");
+        em.persist(teamA);
+        em.persist(new Member("member1", 10, teamA));
+        em.persist(new Member("member2", 20, teamA));
+
+        MemberSearchCondition searchCondition = new MemberSearchCondition();
+        searchCondition.setAgeGoe(21);
+        assertThat(memberJpaRepository.search(searchCondition)).isEmpty();
+
+        // when
+        long count = memberJpaRepository.bulkAddAge(1);
+
+        // then
+        assertThat(count).isEqualTo(2);
+        assertThat(memberJpaRepository.search(searchCondition))
+                .extracting("username")
+                .containsExactly("member2");
+    }
+
+    @Test
+    public void searchStream() throws Exception {
+        // given
+        Team teamA = new Team("teamA");
+        em.persist(teamA);
+        for (int i = 0; i < 10; i++) {
+            em.persist(new Member("member" + i, i, teamA));
+        }
+
+        MemberSearchCondition searchCondition = new MemberSearchCondition();
+        searchCondition.setAgeGoe(5);
+
+        // when
+        List<MemberTeamDto> result = new ArrayList<>();
+        long count = memberJpaRepository.searchStream(searchCondition, 2, 3, result::add);
+
+        // then
+        assertThat(count).isEqualTo(5);
+        assertThat(result)
+                .extracting("username")
+                .containsExactly("member5", "member6", "member7", "member8", "member9");
+    }
+
+    @Test
+    public void searchMember() throws Exception {
+        // given
+        Team teamA = new Team("teamA");
+        em.persist(teamA);
+        em.persist(new Member("member1", 10, teamA));
+        em.persist(new Member("member2", 20, teamA));
+
+        MemberSearchCondition searchCondition = new MemberSearchCondition();
+        searchCondition.setTeamName("teamA");
+
+        // when
+        // flush 하지 않은 변경도 조회 전에 flush 되어 보인다.
+        List<Member> result = memberJpaRepository.searchMember(searchCondition);
+
+        // then
+        assertThat(result).hasSize(2);
+        result.get(0).setUsername("changed");
+        em.flush();
+        em.clear();
+        assertThat(memberJpaRepository.findByUsername("changed")).hasSize(1);
+    }
+
+    @Test
+    public void searchMemberReadOnly() throws Exception {
+        // given
+        Team teamA = new Team("teamA");
+        em.persist(teamA);
+        em.persist(new Member("member1", 10, teamA));
+        em.persist(new Member("member2", 20, teamA));
+        em.flush();
+        em.clear();
+        em.persist(new Member("member3", 30, teamA));
+
+        MemberSearchCondition searchCondition = new MemberSearchCondition();
+        searchCondition.setTeamName("teamA");
+
+        // when
+        List<Member> result = memberJpaRepository.searchMemberReadOnly(searchCondition);
+
+        // then
+        // flush 되지 않은 member3 은 보이지 않는다.
+        Session session = em.unwrap(Session.class);
+        assertThat(result).extracting("username").containsExactlyInAnyOrder("member1", "member2");
+        assertThat(result).allMatch(session::isReadOnly);
+        assertThat(session.isDirty()).isTrue();
+
+        // 읽기 전용 엔티티는 변경감지 대상이 아니다.
+        result.get(0).setUsername("changed");
+        em.flush();
+        em.clear();
+        assertThat(memberJpaRepository.findByUsername("changed")).isEmpty();
+    }
+
+    @Test
+    public void searchByUsernameMatch() throws Exception {
+        // given
+        Team teamA = new Team("teamA");
+        em.persist(teamA);
+        em.persist(new Member("alpha_kim", 10, teamA));
+        em.persist(new Member("alpha_lee", 20, teamA));
+        em.persist(new Member("beta_kim", 30, teamA));
+        em.persist(new Member("alpha", 40, teamA));
+
+        MemberSearchCondition prefix = new MemberSearchCondition();
+        prefix.setUsername("alpha_");
+        prefix.setUsernameMatch(UsernameMatch.PREFIX);
+
+        MemberSearchCondition contains = new MemberSearchCondition();
+        contains.setUsername("_kim");
+        contains.setUsernameMatch(UsernameMatch.CONTAINS);
+
+        MemberSearchCondition exact = new MemberSearchCondition();
+        exact.setUsername("alpha");
+
+        // when
+        List<MemberTeamDto> prefixResult = memberJpaRepository.search(prefix);
+        List<MemberTeamDto> containsResult = new ArrayList<>();
+        memberJpaRepository.searchStream(contains, 10, 10, containsResult::add);
+        List<MemberTeamDto> exactResult = memberJpaRepository.searchByBuilder(exact);
+
+        // then
+        assertThat(prefixResult)
+                .extracting("username")
+                .containsExactlyInAnyOrder("alpha_kim", "alpha_lee");
+        assertThat(containsResult)
+                .extracting("username")
+                .containsExactly("alpha_kim", "beta_kim");
+        assertThat(exactResult)
+                .extracting("username")
+                .containsExactly("alpha");
+    }
+}
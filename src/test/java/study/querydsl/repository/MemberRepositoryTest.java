@@ -1,22 +1,36 @@
 package study.querydsl.repository;
 
+import com.querydsl.jpa.impl.JPAQuery;
+import com.querydsl.jpa.impl.JPAQueryFactory;
+import org.hibernate.Hibernate;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.Sort;
 import org.springframework.transaction.annotation.Transactional;
+import study.querydsl.dto.AgeStatsDto;
+import study.querydsl.dto.CursorSlice;
 import study.querydsl.dto.MemberSearchCondition;
 import study.querydsl.dto.MemberTeamDto;
+import study.querydsl.dto.UsernameMatch;
 import study.querydsl.entity.Member;
 import study.querydsl.entity.QMember;
+import study.querydsl.entity.QTeam;
 import study.querydsl.entity.Team;
+import study.querydsl.repository.support.CountMode;
+import study.querydsl.repository.support.InvalidSearchException;
+import study.querydsl.repository.support.MemberFetchPlan;
+import study.querydsl.repository.support.QuerydslJoinPruner;
 
 import javax.persistence.EntityManager;
 import java.util.List;
 import java.util.Optional;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
 
 @SpringBootTest
 @Transactional
@@ -75,6 +89,34 @@ class MemberRepositoryTest {
                 .containsExactly("member4");
     }
 
+    @Test
+    public void searchByTemplate() throws Exception {
+        // given
+        Team teamA = new Team("teamA");
+        Team teamB = new Team("teamB");
+        em.persist(teamA);
+        em.persist(teamB);
+
+        em.persist(new Member("member1", 10, teamA));
+        em.persist(new Member("member2", 20, teamA));
+        em.persist(new Member("member3", 30, teamB));
+        em.persist(new Member("member4", 40, teamB));
+
+        MemberSearchCondition searchCondition = new MemberSearchCondition();
+        searchCondition.setAgeGoe(35);
+        searchCondition.setAgeLoe(40);
+        searchCondition.setTeamName("teamB");
+
+        // when
+        List<MemberTeamDto> result = memberRepository.searchByTemplate(searchCondition);
+
+        // then
+        assertThat(result)
+                .extracting("username")
+                .containsExactly("member4");
+        assertThat(memberRepository.searchByTemplate(new MemberSearchCondition())).hasSize(4);
+    }
+
     @Test
     public void searchPageSimple() throws Exception {
         // given
@@ -106,6 +148,316 @@ class MemberRepositoryTest {
                 .containsExactly("member1", "member2", "member3");
     }
 
+    @Test
+    public void searchPageComplexParallel() throws Exception {
+        // given
+        Team teamA = new Team("teamA");
+        Team teamB = new Team("teamB");
+        em.persist(teamA);
+        em.persist(teamB);
+
+        em.persist(new Member("member1", 10, teamA));
+        em.persist(new Member("member2", 20, teamA));
+        em.persist(new Member("member3", 30, teamB));
+        em.persist(new Member("member4", 40, teamB));
+
+        MemberSearchCondition searchCondition = new MemberSearchCondition();
+        searchCondition.setTeamName("teamB");
+
+        // when
+        // 쓰기 트랜잭션 안이므로 순차 실행으로 동작한다.
+        Page<MemberTeamDto> result = memberRepository.searchPageComplexParallel(searchCondition, PageRequest.of(0, 1));
+
+        // then
+        assertThat(result.getTotalElements()).isEqualTo(2);
+        assertThat(result.getContent())
+                .extracting("username")
+                .containsExactly("member3");
+    }
+
+    @Test
+    public void searchPageComplexOptimizationCountWithTeamName() throws Exception {
+        // given
+        Team teamA = new Team("teamA");
+        Team teamB = new Team("teamB");
+        em.persist(teamA);
+        em.persist(teamB);
+        for (int i = 0; i < 5; i++) {
+            em.persist(new Member("member" + i, i * 10, i < 3 ? teamA : teamB));
+        }
+
+        MemberSearchCondition searchCondition = new MemberSearchCondition();
+        searchCondition.setTeamName("teamA");
+        PageRequest pageRequest = PageRequest.of(0, 2);
+
+        // when
+        Page<MemberTeamDto> result = memberRepository.searchPageComplexOptimization(searchCondition, pageRequest);
+
+        // then
+        assertThat(result.getTotalElements()).isEqualTo(3);
+    }
+
+    @Test
+    public void pruneUnusedJoin() throws Exception {
+        JPAQueryFactory queryFactory = new JPAQueryFactory(em);
+
+        // 팀을 참조하지 않으면 조인 제거
+        JPAQuery<Member> unused = queryFactory
+                .selectFrom(QMember.member)
+                .leftJoin(QMember.member.team, QTeam.team)
+                .where(QMember.member.age.goe(10));
+        assertThat(QuerydslJoinPruner.prune(unused, queryFactory).toString()).doesNotContain("join");
+
+        // where 에서 팀을 참조하면 유지
+        JPAQuery<Member> used = queryFactory
+                .selectFrom(QMember.member)
+                .leftJoin(QMember.member.team, QTeam.team)
+                .where(QTeam.team.name.eq("teamA"));
+        assertThat(QuerydslJoinPruner.prune(used, queryFactory)).isSameAs(used);
+
+        // fetch join 은 유지
+        JPAQuery<Member> fetchJoin = queryFactory
+                .selectFrom(QMember.member)
+                .leftJoin(QMember.member.team, QTeam.team).fetchJoin();
+        assertThat(QuerydslJoinPruner.prune(fetchJoin, queryFactory)).isSameAs(fetchJoin);
+    }
+
+    @Test
+    public void searchPageIdFirst() throws Exception {
+        // given
+        Team teamA = new Team("teamA");
+        Team teamB = new Team("teamB");
+        em.persist(teamA);
+        em.persist(teamB);
+        for (int i = 0; i < 10; i++) {
+            em.persist(new Member("member" + i, i * 10, i % 2 == 0 ? teamA : teamB));
+        }
+
+        MemberSearchCondition searchCondition = new MemberSearchCondition();
+        searchCondition.setTeamName("teamA");
+        PageRequest pageRequest = PageRequest.of(1, 2);
+
+        // when
+        Page<MemberTeamDto> result = memberRepository.searchPageIdFirst(searchCondition, pageRequest, CountMode.EXACT);
+
+        // then
+        assertThat(result.getTotalElements()).isEqualTo(5);
+        assertThat(result.getContent())
+                .extracting("username")
+                .containsExactly("member4", "member6");
+        assertThat(result.getContent())
+                .extracting("teamName")
+                .containsOnly("teamA");
+    }
+
+    @Test
+    public void searchPageIdFirstBlankTeamName() throws Exception {
+        // given
+        Team teamA = new Team("teamA");
+        em.persist(teamA);
+        em.persist(new Member("member1", 10, teamA));
+
+        // 공백 팀명도 teamNameEq 조건이 되므로 팀 조인이 있어야 한다.
+        MemberSearchCondition searchCondition = new MemberSearchCondition();
+        searchCondition.setTeamName(" ");
+
+        // when
+        Page<MemberTeamDto> result = memberRepository.searchPageIdFirst(searchCondition, PageRequest.of(0, 10), CountMode.EXACT);
+
+        // then
+        assertThat(result.getContent()).isEmpty();
+        assertThat(result.getTotalElements()).isZero();
+    }
+
+    @Test
+    public void searchPageIdFirstSort() throws Exception {
+        // given
+        Team teamA = new Team("teamA");
+        em.persist(teamA);
+        em.persist(new Member("member1", 20, teamA));
+        em.persist(new Member("member2", 10, teamA));
+        em.persist(new Member("member3", 30, teamA));
+        em.persist(new Member("member4", 20, teamA));
+
+        MemberSearchCondition searchCondition = new MemberSearchCondition();
+        searchCondition.setTeamName("teamA");
+
+        // when
+        Page<MemberTeamDto> result = memberRepository.searchPageIdFirst(searchCondition,
+                PageRequest.of(0, 3, Sort.by(Sort.Direction.DESC, "age")), CountMode.EXACT);
+
+        // then
+        // 같은 나이는 member.id 순서
+        assertThat(result.getContent())
+                .extracting("username")
+                .containsExactly("member3", "member1", "member4");
+        assertThatThrownBy(() -> memberRepository.searchPageIdFirst(searchCondition,
+                PageRequest.of(0, 3, Sort.by("teamName")), CountMode.EXACT))
+                .isInstanceOf(InvalidSearchException.class);
+    }
+
+    @Test
+    public void searchSliceWithoutCount() throws Exception {
+        // given
+        Team teamA = new Team("teamA");
+        em.persist(teamA);
+
+        em.persist(new Member("member1", 10, teamA));
+        em.persist(new Member("member2", 20, teamA));
+        em.persist(new Member("member3", 30, teamA));
+
+        MemberSearchCondition searchCondition = new MemberSearchCondition();
+
+        // when
+        Slice<MemberTeamDto> result = memberRepository.searchSliceWithoutCount(searchCondition, PageRequest.of(0, 2));
+
+        // then
+        assertThat(result.hasNext()).isTrue();
+        assertThat(result.getContent())
+                .extracting("username")
+                .containsExactly("member1", "member2");
+    }
+
+    @Test
+    public void searchSlice() throws Exception {
+        // given
+        Team teamA = new Team("teamA");
+        Team teamB = new Team("teamB");
+        em.persist(teamA);
+        em.persist(teamB);
+
+        Member member1 = new Member("member1", 10, teamA);
+        Member member2 = new Member("member2", 20, teamA);
+
+        Member member3 = new Member("member3", 30, teamB);
+        Member member4 = new Member("member4", 40, teamB);
+
+        em.persist(member1);
+        em.persist(member2);
+        em.persist(member3);
+        em.persist(member4);
+
+        MemberSearchCondition searchCondition = new MemberSearchCondition();
+
+        // when
+        CursorSlice<MemberTeamDto> first = memberRepository.searchSlice(searchCondition, null, 3);
+        CursorSlice<MemberTeamDto> second = memberRepository.searchSlice(searchCondition, first.getNextCursor(), 3);
+
+        // then
+        assertThat(first.isHasNext()).isTrue();
+        assertThat(first.getContent())
+                .extracting("username")
+                .containsExactly("member1", "member2", "member3");
+        assertThat(second.isHasNext()).isFalse();
+        assertThat(second.getNextCursor()).isNull();
+        assertThat(second.getContent())
+                .extracting("username")
+                .containsExactly("member4");
+    }
+
+    @Test
+    public void searchMemberWithFetchPlan() throws Exception {
+        // given
+        Team teamA = new Team("teamA");
+        Team teamB = new Team("teamB");
+        em.persist(teamA);
+        em.persist(teamB);
+
+        em.persist(new Member("member1", 10, teamA));
+        em.persist(new Member("member2", 20, teamA));
+        em.persist(new Member("member3", 30, teamB));
+        em.persist(new Member("member4", 40, teamB));
+        em.flush();
+        em.clear();
+
+        MemberSearchCondition searchCondition = new MemberSearchCondition();
+
+        // when
+        List<Member> lazy = memberRepository.searchMember(searchCondition, MemberFetchPlan.MEMBER);
+        em.clear();
+        List<Member> withTeam = memberRepository.searchMember(searchCondition, MemberFetchPlan.MEMBER_TEAM);
+
+        // then
+        assertThat(lazy).hasSize(4);
+        assertThat(lazy).noneMatch(m -> Hibernate.isInitialized(m.getTeam()));
+        assertThat(withTeam).hasSize(4);
+        assertThat(withTeam).allMatch(m -> Hibernate.isInitialized(m.getTeam()));
+        assertThat(withTeam)
+                .extracting(m -> m.getTeam().getName())
+                .containsOnly("teamA", "teamB");
+    }
+
+    @Test
+    public void searchByUsernameMatch() throws Exception {
+        // given
+        Team teamA = new Team("teamA");
+        em.persist(teamA);
+
+        em.persist(new Member("alpha_kim", 10, teamA));
+        em.persist(new Member("alpha_lee", 20, teamA));
+        em.persist(new Member("beta_kim", 30, teamA));
+        em.persist(new Member("alpha", 40, teamA));
+
+        // 쓰기 트랜잭션 안이므로 인덱스 대신 like 로 조회된다.
+        MemberSearchCondition prefix = new MemberSearchCondition();
+        prefix.setUsername("alpha_");
+        prefix.setUsernameMatch(UsernameMatch.PREFIX);
+
+        MemberSearchCondition contains = new MemberSearchCondition();
+        contains.setUsername("_kim");
+        contains.setUsernameMatch(UsernameMatch.CONTAINS);
+
+        MemberSearchCondition exact = new MemberSearchCondition();
+        exact.setUsername("alpha");
+
+        // when
+        List<MemberTeamDto> prefixResult = memberRepository.search(prefix);
+        Page<MemberTeamDto> containsResult = memberRepository.searchPageComplex(contains, PageRequest.of(0, 10));
+        List<MemberTeamDto> exactResult = memberRepository.searchByTemplate(exact);
+
+        // then
+        // '_' 는 like 와일드카드로 취급되지 않아야 한다.
+        assertThat(prefixResult)
+                .extracting("username")
+                .containsExactlyInAnyOrder("alpha_kim", "alpha_lee");
+        assertThat(containsResult.getTotalElements()).isEqualTo(2);
+        assertThat(containsResult.getContent())
+                .extracting("username")
+                .containsExactlyInAnyOrder("alpha_kim", "beta_kim");
+        assertThat(exactResult)
+                .extracting("username")
+                .containsExactly("alpha");
+    }
+
+    @Test
+    public void ageStats() throws Exception {
+        // given
+        Team teamA = new Team("teamA");
+        Team teamB = new Team("teamB");
+        em.persist(teamA);
+        em.persist(teamB);
+
+        em.persist(new Member("member1", 10, teamA));
+        em.persist(new Member("member2", 20, teamA));
+        em.persist(new Member("member3", 30, teamB));
+        em.persist(new Member("member4", 40, teamB));
+        em.persist(new Member("member5", 50));
+
+        // when
+        // 쓰기 트랜잭션 안이므로 스냅샷 대신 DB 에서 집계된다.
+        AgeStatsDto total = memberRepository.ageStats();
+        List<AgeStatsDto> byTeam = memberRepository.ageStatsByTeam();
+
+        // then
+        assertThat(total.getCount()).isEqualTo(5);
+        assertThat(total.getSum()).isEqualTo(150);
+        assertThat(total.getMax()).isEqualTo(50);
+        assertThat(total.getMin()).isEqualTo(10);
+        assertThat(byTeam).extracting("teamName").containsExactly("teamA", "teamB");
+        assertThat(byTeam).extracting("avg").containsExactly(15.0, 35.0);
+        assertThat(byTeam).extracting("count").containsExactly(2L, 2L);
+    }
+
     @Test
     public void querydslPredicateExecutorTest() throws Exception {
         // given
@@ -0,0 +1,167 @@
+package study.querydsl.repository.support;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.SimpleTransactionStatus;
+import study.querydsl.entity.event.ChangeType;
+import study.querydsl.entity.event.EntityChangedEvent;
+import study.querydsl.entity.event.MemberChangedEvent;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+// 로딩중에 커밋된 변경(벌크 포함)이 새 인덱스에 반영되는지 확인한다.
+// 트랜잭션 동기화가 없으면 onChange 는 커밋된 변경으로 바로 적용된다.
+class CommittedChangeIndexTest {
+
+    // DB 역할, 회원 id -> 나이
+    private final Map<Long, Integer> rows = new ConcurrentHashMap<>();
+    private AgeIndex index;
+
+    @BeforeEach
+    public void before() {
+        PlatformTransactionManager transactionManager = mock(PlatformTransactionManager.class);
+        when(transactionManager.getTransaction(any())).thenReturn(new SimpleTransactionStatus());
+        index = new AgeIndex(transactionManager);
+        rows.put(1L, 10);
+        rows.put(2L, 20);
+    }
+
+    @AfterEach
+    public void after() {
+        index.release.countDown();
+        index.shutdown();
+    }
+
+    @Test
+    public void changesCommittedWhileLoadingAreApplied() throws Exception {
+        // given
+        index.onReady();
+        await(index.loadStarted);
+
+        // when
+        // 로딩이 읽은 뒤에 커밋된 변경
+        rows.put(3L, 30);
+        index.onChange(changed(ChangeType.PERSIST, 3L, 30));
+        rows.remove(1L);
+        index.onChange(changed(ChangeType.REMOVE, 1L, null));
+        assertThat(index.isReady()).isFalse();
+        index.release.countDown();
+        awaitReady();
+
+        // then
+        assertThat(index.current()).isEqualTo(rows);
+        assertThat(index.loads.get()).isEqualTo(1);
+    }
+
+    @Test
+    public void bulkCommittedWhileLoadingLoadsAgain() throws Exception {
+        // given
+        index.onReady();
+        await(index.loadStarted);
+
+        // when
+        // 벌크 변경은 어떤 행이 바뀌었는지 알 수 없으므로 다시 로딩해야 한다.
+        rows.replaceAll((id, age) -> age + 1);
+        index.onChange(MemberChangedEvent.bulk());
+        rows.put(3L, 30);
+        index.onChange(changed(ChangeType.PERSIST, 3L, 30));
+        index.release.countDown();
+        awaitReady();
+
+        // then
+        assertThat(index.current()).isEqualTo(rows);
+        assertThat(index.loads.get()).isEqualTo(2);
+    }
+
+    @Test
+    public void bulkAfterLoadReloads() throws Exception {
+        // given
+        index.release.countDown();
+        index.onReady();
+        awaitReady();
+        index.onChange(changed(ChangeType.UPDATE, 2L, 25));
+        rows.put(2L, 25);
+
+        // when
+        rows.replaceAll((id, age) -> age + 1);
+        index.onChange(MemberChangedEvent.bulk());
+        awaitReady();
+
+        // then
+        assertThat(index.current()).isEqualTo(rows);
+        assertThat(index.loads.get()).isEqualTo(2);
+    }
+
+    private void awaitReady() throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+        while (!index.isReady()) {
+            assertThat(System.nanoTime() < deadline).as("index loaded").isTrue();
+            Thread.sleep(10);
+        }
+    }
+
+    private static void await(CountDownLatch latch) throws InterruptedException {
+        assertThat(latch.await(10, TimeUnit.SECONDS)).isTrue();
+    }
+
+    private static MemberChangedEvent changed(ChangeType type, Long memberId, Integer age) {
+        return new MemberChangedEvent(type, memberId, "member" + memberId, age, null);
+    }
+
+    // 첫 로딩은 DB 를 읽은 뒤 release 될 때까지 끝나지 않는다.
+    private class AgeIndex extends CommittedChangeIndex<Map<Long, Integer>> {
+
+        final CountDownLatch loadStarted = new CountDownLatch(1);
+        final CountDownLatch release = new CountDownLatch(1);
+        final AtomicInteger loads = new AtomicInteger();
+
+        AgeIndex(PlatformTransactionManager transactionManager) {
+            super("test-index", transactionManager, true);
+        }
+
+        Map<Long, Integer> current() {
+            return usable();
+        }
+
+        @Override
+        protected Map<Long, Integer> load() {
+            Map<Long, Integer> loaded = new HashMap<>(rows);
+            loads.incrementAndGet();
+            loadStarted.countDown();
+            try {
+                release.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException(e);
+            }
+            return loaded;
+        }
+
+        @Override
+        protected boolean supports(EntityChangedEvent event) {
+            return event instanceof MemberChangedEvent;
+        }
+
+        @Override
+        protected void apply(Map<Long, Integer> target, EntityChangedEvent event) {
+            MemberChangedEvent changed = (MemberChangedEvent) event;
+            if (changed.getType() == ChangeType.REMOVE) {
+                target.remove(changed.getMemberId());
+            } else {
+                target.put(changed.getMemberId(), changed.getAge());
+            }
+        }
+    }
+}
@@ -0,0 +1,51 @@
+package study.querydsl.repository.support;
+
+import org.junit.jupiter.api.Test;
+import study.querydsl.dto.AgeStatsDto;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class MemberAgeColumnsTest {
+
+    @Test
+    public void aggregate() throws Exception {
+        // given
+        MemberAgeColumns columns = new MemberAgeColumns();
+        columns.putTeam(1L, "teamA");
+        columns.putTeam(2L, "teamB");
+        columns.putMember(1L, 10, 1L);
+        columns.putMember(2L, 20, 1L);
+        columns.putMember(3L, 30, 2L);
+        columns.putMember(4L, 40, 2L);
+        columns.putMember(5L, 50, null);
+
+        // when
+        columns.removeMember(1L);
+        columns.putMember(4L, 45, 1L);
+        columns.putTeam(2L, "teamC");
+
+        // then
+        AgeStatsDto total = columns.total();
+        assertThat(total.getCount()).isEqualTo(4);
+        assertThat(total.getSum()).isEqualTo(145);
+        assertThat(total.getMax()).isEqualTo(50);
+        assertThat(total.getMin()).isEqualTo(20);
+
+        List<AgeStatsDto> byTeam = columns.byTeamName();
+        assertThat(byTeam).extracting("teamName").containsExactly("teamA", "teamC");
+        assertThat(byTeam.get(0).getCount()).isEqualTo(2);
+        assertThat(byTeam.get(0).getAvg()).isEqualTo(32.5);
+        assertThat(byTeam.get(1).getSum()).isEqualTo(30);
+    }
+
+    @Test
+    public void empty() throws Exception {
+        MemberAgeColumns columns = new MemberAgeColumns();
+
+        assertThat(columns.total().getCount()).isZero();
+        assertThat(columns.total().getMax()).isNull();
+        assertThat(columns.byTeamName()).isEmpty();
+    }
+}
@@ -0,0 +1,128 @@
+package study.querydsl.repository.support;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import study.querydsl.dto.AgeStatsDto;
+import study.querydsl.entity.Member;
+import study.querydsl.entity.Team;
+import study.querydsl.entity.event.MemberChangedEvent;
+import study.querydsl.monitoring.QueryCountHolder;
+import study.querydsl.repository.MemberRepository;
+
+import javax.persistence.EntityManager;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// 스냅샷은 커밋된 변경만 반영하고 쓰기 트랜잭션 안에서는 사용되지 않으므로 트랜잭션 없이 테스트한다.
+@SpringBootTest
+class MemberAgeSnapshotTest {
+
+    @Autowired EntityManager em;
+    @Autowired PlatformTransactionManager transactionManager;
+    @Autowired ApplicationEventPublisher eventPublisher;
+    @Autowired MemberAgeSnapshot memberAgeSnapshot;
+    @Autowired MemberRepository memberRepository;
+
+    private TransactionTemplate transactionTemplate;
+    private Long member1Id;
+
+    @BeforeEach
+    public void before() throws Exception {
+        transactionTemplate = new TransactionTemplate(transactionManager);
+        awaitReady();
+        member1Id = transactionTemplate.execute(status -> {
+            Team teamA = new Team("teamA");
+            Team teamB = new Team("teamB");
+            em.persist(teamA);
+            em.persist(teamB);
+            Member member1 = new Member("member1", 10, teamA);
+            em.persist(member1);
+            em.persist(new Member("member2", 20, teamA));
+            em.persist(new Member("member3", 30, teamB));
+            em.persist(new Member("member4", 40));
+            return member1.getId();
+        });
+    }
+
+    @AfterEach
+    public void after() {
+        transactionTemplate.execute(status -> {
+            em.createQuery("delete from Member").executeUpdate();
+            em.createQuery("delete from Team").executeUpdate();
+            eventPublisher.publishEvent(MemberChangedEvent.bulk());
+            return null;
+        });
+    }
+
+    @Test
+    public void servedFromSnapshot() throws Exception {
+        // when
+        AgeStatsDto total;
+        List<AgeStatsDto> byTeam;
+        int statements;
+        try {
+            QueryCountHolder.start();
+            total = memberRepository.ageStats();
+            byTeam = memberRepository.ageStatsByTeam();
+            statements = QueryCountHolder.current().getStatements();
+        } finally {
+            QueryCountHolder.clear();
+        }
+
+        // then
+        // DB 조회 없이 커밋된 데이터로 집계
+        assertThat(statements).isEqualTo(0);
+        assertThat(total).isEqualTo(new AgeStatsDto(null, 4, 100L, 25.0, 40, 10));
+        assertThat(byTeam).containsExactly(
+                new AgeStatsDto("teamA", 2, 30L, 15.0, 20, 10),
+                new AgeStatsDto("teamB", 1, 30L, 30.0, 30, 30));
+
+        // 쓰기 트랜잭션 안에서는 DB 에서 집계하고, 결과는 스냅샷과 같다.
+        assertThat(transactionTemplate.execute(status -> memberRepository.ageStats())).isEqualTo(total);
+        assertThat(transactionTemplate.execute(status -> memberRepository.ageStatsByTeam())).isEqualTo(byTeam);
+    }
+
+    @Test
+    public void committedChangesAreApplied() throws Exception {
+        // 커밋된 변경
+        transactionTemplate.execute(status -> {
+            em.find(Member.class, member1Id).setAge(50);
+            return null;
+        });
+        assertThat(memberRepository.ageStats()).isEqualTo(new AgeStatsDto(null, 4, 140L, 35.0, 50, 20));
+
+        // 롤백된 변경은 반영되지 않는다.
+        transactionTemplate.execute(status -> {
+            em.find(Member.class, member1Id).setAge(60);
+            em.flush();
+            status.setRollbackOnly();
+            return null;
+        });
+        assertThat(memberRepository.ageStats()).isEqualTo(new AgeStatsDto(null, 4, 140L, 35.0, 50, 20));
+
+        // 벌크 변경은 스냅샷을 다시 만든다.
+        transactionTemplate.execute(status -> {
+            em.createQuery("update Member m set m.age = m.age + 1").executeUpdate();
+            eventPublisher.publishEvent(MemberChangedEvent.bulk());
+            return null;
+        });
+        awaitReady();
+        assertThat(memberRepository.ageStats()).isEqualTo(new AgeStatsDto(null, 4, 144L, 36.0, 51, 21));
+    }
+
+    private void awaitReady() throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+        while (!memberAgeSnapshot.isReady()) {
+            assertThat(System.nanoTime() < deadline).as("age snapshot loaded").isTrue();
+            Thread.sleep(10);
+        }
+    }
+}
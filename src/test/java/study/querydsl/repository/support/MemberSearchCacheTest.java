@@ -0,0 +1,127 @@
+package study.querydsl.repository.support;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import study.querydsl.dto.MemberSearchCondition;
+import study.querydsl.dto.MemberTeamDto;
+import study.querydsl.entity.Member;
+import study.querydsl.entity.Team;
+import study.querydsl.entity.event.MemberChangedEvent;
+import study.querydsl.repository.MemberJpaRepository;
+import study.querydsl.repository.MemberRepository;
+
+import javax.persistence.EntityManager;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// 쓰기 트랜잭션 안에서는 캐시를 사용하지 않으므로 트랜잭션 없이 테스트한다.
+@SpringBootTest
+class MemberSearchCacheTest {
+
+    @Autowired EntityManager em;
+    @Autowired PlatformTransactionManager transactionManager;
+    @Autowired ApplicationEventPublisher eventPublisher;
+    @Autowired MemberRepository memberRepository;
+    @Autowired MemberJpaRepository memberJpaRepository;
+    @Autowired MeterRegistry meterRegistry;
+
+    private TransactionTemplate transactionTemplate;
+    private Long member1Id;
+
+    @BeforeEach
+    public void before() {
+        transactionTemplate = new TransactionTemplate(transactionManager);
+        member1Id = transactionTemplate.execute(status -> {
+            Team teamA = new Team("teamA");
+            em.persist(teamA);
+            Member member1 = new Member("member1", 10, teamA);
+            em.persist(member1);
+            em.persist(new Member("member2", 20, teamA));
+            return member1.getId();
+        });
+    }
+
+    @AfterEach
+    public void after() {
+        transactionTemplate.execute(status -> {
+            em.createQuery("delete from Member").executeUpdate();
+            em.createQuery("delete from Team").executeUpdate();
+            eventPublisher.publishEvent(MemberChangedEvent.bulk());
+            return null;
+        });
+    }
+
+    @Test
+    public void committedChangesInvalidateCache() throws Exception {
+        // given
+        MemberSearchCondition condition = new MemberSearchCondition();
+        condition.setTeamName("teamA");
+
+        List<MemberTeamDto> first = memberRepository.search(condition);
+        double hits = hits();
+
+        // when
+        List<MemberTeamDto> second = memberRepository.search(condition);
+
+        // then
+        assertThat(second).isSameAs(first);
+        assertThat(hits()).isEqualTo(hits + 1);
+
+        // 커밋된 엔티티 변경
+        transactionTemplate.execute(status -> {
+            em.find(Member.class, member1Id).setUsername("changed");
+            return null;
+        });
+        assertThat(memberRepository.search(condition))
+                .extracting("username")
+                .containsExactlyInAnyOrder("changed", "member2");
+
+        // 벌크 변경 (/v1 도 같은 캐시를 사용한다.)
+        memberJpaRepository.bulkAddAge(1);
+        assertThat(memberRepository.search(condition))
+                .extracting("age")
+                .containsExactlyInAnyOrder(11, 21);
+        assertThat(memberJpaRepository.search(condition))
+                .extracting("age")
+                .containsExactlyInAnyOrder(11, 21);
+    }
+
+    @Test
+    public void expiresAfterTtl() throws Exception {
+        // given
+        MemberSearchCache cache = new MemberSearchCache(new MemberDataVersion(), new SimpleMeterRegistry(), 10, 1);
+        MemberSearchCondition condition = new MemberSearchCondition();
+        AtomicInteger loads = new AtomicInteger();
+        Supplier<List<MemberTeamDto>> loader = () -> {
+            loads.incrementAndGet();
+            return Collections.emptyList();
+        };
+
+        // when
+        cache.get(condition, loader);
+        cache.get(condition, loader);
+        int beforeExpiry = loads.get();
+        Thread.sleep(1100);
+        cache.get(condition, loader);
+
+        // then
+        assertThat(beforeExpiry).isEqualTo(1);
+        assertThat(loads.get()).isEqualTo(2);
+    }
+
+    private double hits() {
+        return meterRegistry.get("member.search.cache").tag("result", "hit").counter().count();
+    }
+}
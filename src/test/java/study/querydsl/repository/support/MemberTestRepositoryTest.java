@@ -0,0 +1,117 @@
+package study.querydsl.repository.support;
+
+import org.hibernate.Session;
+import org.hibernate.engine.spi.EntityEntry;
+import org.hibernate.engine.spi.SessionImplementor;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.transaction.annotation.Transactional;
+import study.querydsl.dto.MemberSearchCondition;
+import study.querydsl.dto.UsernameMatch;
+import study.querydsl.entity.Member;
+import study.querydsl.entity.Team;
+
+import javax.persistence.EntityManager;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest
+@Transactional
+class MemberTestRepositoryTest {
+
+    @Autowired EntityManager em;
+    @Autowired MemberTestRepository memberTestRepository;
+
+    @BeforeEach
+    public void before() {
+        Team teamA = new Team("teamA");
+        em.persist(teamA);
+        em.persist(new Member("member1", 10, teamA));
+        em.persist(new Member("member2", 20, teamA));
+        em.flush();
+        em.clear();
+    }
+
+    @Test
+    public void readOnlyQueryTakesNoSnapshot() throws Exception {
+        // when
+        List<Member> readOnly = memberTestRepository.basicSelectReadOnly();
+        em.clear();
+        List<Member> normal = memberTestRepository.basicSelect();
+
+        // then
+        // 변경감지용 스냅샷(loadedState)은 일반 조회에만 만들어진다.
+        assertThat(readOnly).hasSize(2);
+        assertThat(normal).hasSize(2);
+        assertThat(normal).allMatch(m -> entry(m).getLoadedState() != null);
+        em.clear();
+        memberTestRepository.basicSelectFromReadOnly()
+                .forEach(m -> assertThat(entry(m).getLoadedState()).isNull());
+    }
+
+    @Test
+    public void readOnlyQueryDoesNotFlush() throws Exception {
+        // given
+        em.persist(new Member("member3", 30));
+
+        // when
+        List<Member> readOnly = memberTestRepository.basicSelectFromReadOnly();
+        boolean dirtyAfterReadOnly = em.unwrap(Session.class).isDirty();
+        List<Member> normal = memberTestRepository.basicSelectFrom();
+
+        // then
+        // 읽기 전용 조회는 flush 하지 않으므로 member3 의 insert 가 아직 실행되지 않았다.
+        assertThat(readOnly).extracting("username").containsExactlyInAnyOrder("member1", "member2");
+        assertThat(dirtyAfterReadOnly).isTrue();
+        assertThat(normal).extracting("username").containsExactlyInAnyOrder("member1", "member2", "member3");
+    }
+
+    @Test
+    public void applyPaginationReadOnly() throws Exception {
+        // given
+        MemberSearchCondition condition = new MemberSearchCondition();
+        condition.setTeamName("teamA");
+
+        // when
+        Page<Member> result = memberTestRepository.applyPaginationReadOnly(condition, PageRequest.of(0, 1));
+
+        // then
+        Session session = em.unwrap(Session.class);
+        assertThat(result.getTotalElements()).isEqualTo(2);
+        assertThat(result.getContent()).hasSize(1);
+        assertThat(result.getContent()).allMatch(session::isReadOnly);
+    }
+
+    @Test
+    public void applyPaginationUsernameMatch() throws Exception {
+        // given
+        MemberSearchCondition prefix = new MemberSearchCondition();
+        prefix.setUsername("member");
+        prefix.setUsernameMatch(UsernameMatch.PREFIX);
+        MemberSearchCondition contains = new MemberSearchCondition();
+        contains.setUsername("ber2");
+        contains.setUsernameMatch(UsernameMatch.CONTAINS);
+        MemberSearchCondition exact = new MemberSearchCondition();
+        exact.setUsername("member");
+
+        // when
+        Page<Member> prefixResult = memberTestRepository.applyPagination2(prefix, PageRequest.of(0, 10));
+        Page<Member> containsResult = memberTestRepository.applyPagination2(contains, PageRequest.of(0, 10));
+        Page<Member> exactResult = memberTestRepository.applyPagination2(exact, PageRequest.of(0, 10));
+
+        // then
+        assertThat(prefixResult.getTotalElements()).isEqualTo(2);
+        assertThat(prefixResult.getContent()).extracting("username").containsExactlyInAnyOrder("member1", "member2");
+        assertThat(containsResult.getContent()).extracting("username").containsExactly("member2");
+        assertThat(exactResult.getTotalElements()).isZero();
+    }
+
+    private EntityEntry entry(Member member) {
+        return em.unwrap(SessionImplementor.class).getPersistenceContext().getEntry(member);
+    }
+}
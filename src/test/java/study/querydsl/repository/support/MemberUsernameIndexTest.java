@@ -0,0 +1,167 @@
+package study.querydsl.repository.support;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import study.querydsl.dto.MemberSearchCondition;
+import study.querydsl.dto.MemberTeamDto;
+import study.querydsl.dto.UsernameMatch;
+import study.querydsl.entity.Member;
+import study.querydsl.entity.Team;
+import study.querydsl.entity.event.MemberChangedEvent;
+import study.querydsl.monitoring.QueryCountHolder;
+import study.querydsl.repository.MemberRepository;
+
+import javax.persistence.EntityManager;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// 인덱스는 커밋된 변경만 반영하고 쓰기 트랜잭션 안에서는 사용되지 않으므로 트랜잭션 없이 테스트한다.
+@SpringBootTest
+class MemberUsernameIndexTest {
+
+    @Autowired EntityManager em;
+    @Autowired PlatformTransactionManager transactionManager;
+    @Autowired ApplicationEventPublisher eventPublisher;
+    @Autowired MemberUsernameIndex memberUsernameIndex;
+    @Autowired MemberRepository memberRepository;
+
+    private TransactionTemplate transactionTemplate;
+    private Long alphaKim;
+    private Long alphaLee;
+    private Long betaKim;
+
+    @BeforeEach
+    public void before() throws Exception {
+        transactionTemplate = new TransactionTemplate(transactionManager);
+        awaitReady();
+        transactionTemplate.execute(status -> {
+            Team teamA = new Team("teamA");
+            em.persist(teamA);
+            Member member1 = new Member("alpha_kim", 10, teamA);
+            Member member2 = new Member("alpha_lee", 20, teamA);
+            Member member3 = new Member("beta_kim", 30, teamA);
+            em.persist(member1);
+            em.persist(member2);
+            em.persist(member3);
+            em.flush();
+            alphaKim = member1.getId();
+            alphaLee = member2.getId();
+            betaKim = member3.getId();
+            return null;
+        });
+    }
+
+    @AfterEach
+    public void after() {
+        transactionTemplate.execute(status -> {
+            em.createQuery("delete from Member").executeUpdate();
+            em.createQuery("delete from Team").executeUpdate();
+            eventPublisher.publishEvent(MemberChangedEvent.bulk());
+            return null;
+        });
+    }
+
+    @Test
+    public void committedChangesAreIndexed() throws Exception {
+        // 커밋된 추가
+        assertThat(memberUsernameIndex.find(UsernameMatch.PREFIX, "alpha_")).hasValue(ids(alphaKim, alphaLee));
+        assertThat(memberUsernameIndex.find(UsernameMatch.CONTAINS, "_kim")).hasValue(ids(alphaKim, betaKim));
+
+        // 커밋된 변경, 삭제
+        transactionTemplate.execute(status -> {
+            em.find(Member.class, alphaLee).setUsername("gamma_lee");
+            em.remove(em.find(Member.class, betaKim));
+            return null;
+        });
+        assertThat(memberUsernameIndex.find(UsernameMatch.PREFIX, "alpha_")).hasValue(ids(alphaKim));
+        assertThat(memberUsernameIndex.find(UsernameMatch.PREFIX, "gamma_")).hasValue(ids(alphaLee));
+        assertThat(memberUsernameIndex.find(UsernameMatch.CONTAINS, "_kim")).hasValue(ids(alphaKim));
+
+        // 롤백된 변경은 반영되지 않는다.
+        transactionTemplate.execute(status -> {
+            em.find(Member.class, alphaKim).setUsername("delta_kim");
+            em.flush();
+            status.setRollbackOnly();
+            return null;
+        });
+        assertThat(memberUsernameIndex.find(UsernameMatch.PREFIX, "alpha_")).hasValue(ids(alphaKim));
+        assertThat(memberUsernameIndex.find(UsernameMatch.PREFIX, "delta_")).hasValue(ids());
+    }
+
+    @Test
+    public void bulkChangeReloadsIndex() throws Exception {
+        // 엔티티 이벤트가 없는 벌크 변경은 BULK 이벤트로 인덱스를 다시 만든다.
+        transactionTemplate.execute(status -> {
+            em.createQuery("update Member m set m.username = 'delta_kim' where m.id = :id")
+                    .setParameter("id", betaKim)
+                    .executeUpdate();
+            eventPublisher.publishEvent(MemberChangedEvent.bulk());
+            return null;
+        });
+        awaitReady();
+
+        assertThat(memberUsernameIndex.find(UsernameMatch.PREFIX, "delta_")).hasValue(ids(betaKim));
+        assertThat(memberUsernameIndex.find(UsernameMatch.PREFIX, "beta_")).hasValue(ids());
+    }
+
+    @Test
+    public void searchUsesIndexIds() throws Exception {
+        // given
+        MemberSearchCondition prefix = new MemberSearchCondition();
+        prefix.setUsername("alpha_");
+        prefix.setUsernameMatch(UsernameMatch.PREFIX);
+
+        MemberSearchCondition shortContains = new MemberSearchCondition();
+        shortContains.setUsername("im");
+        shortContains.setUsernameMatch(UsernameMatch.CONTAINS);
+
+        // when
+        Page<MemberTeamDto> indexed;
+        Set<String> indexedSql;
+        Page<MemberTeamDto> like;
+        Set<String> likeSql;
+        try {
+            QueryCountHolder.start();
+            indexed = memberRepository.searchPageComplex(prefix, PageRequest.of(0, 10));
+            indexedSql = QueryCountHolder.current().nPlusOneSuspects(1).keySet();
+
+            // 3글자 미만 포함 검색은 인덱스 대신 like
+            QueryCountHolder.start();
+            like = memberRepository.searchPageComplex(shortContains, PageRequest.of(0, 10));
+            likeSql = QueryCountHolder.current().nPlusOneSuspects(1).keySet();
+        } finally {
+            QueryCountHolder.clear();
+        }
+
+        // then
+        assertThat(indexed.getContent()).extracting("memberId").containsExactlyInAnyOrder(alphaKim, alphaLee);
+        assertThat(indexed.getTotalElements()).isEqualTo(2);
+        assertThat(indexedSql).isNotEmpty().allMatch(sql -> sql.contains(" in (") && !sql.contains(" like "));
+        assertThat(like.getContent()).extracting("memberId").containsExactlyInAnyOrder(alphaKim, betaKim);
+        assertThat(likeSql).isNotEmpty().allMatch(sql -> sql.contains(" like "));
+    }
+
+    private static Set<Long> ids(Long... ids) {
+        return new HashSet<>(Arrays.asList(ids));
+    }
+
+    private void awaitReady() throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+        while (!memberUsernameIndex.isReady()) {
+            assertThat(System.nanoTime() < deadline).as("username index loaded").isTrue();
+            Thread.sleep(10);
+        }
+    }
+}
@@ -0,0 +1,185 @@
+package study.querydsl.repository.support;
+
+import com.querydsl.jpa.impl.JPAQueryFactory;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.persistence.EntityManager;
+import javax.persistence.EntityManagerFactory;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static study.querydsl.entity.QMember.member;
+
+// 트랜잭션 밖에서 호출해서 병렬 실행 경로를 확인한다.
+@SpringBootTest
+class ParallelCountExecutorTest {
+
+    @Autowired EntityManagerFactory entityManagerFactory;
+    @Autowired PlatformTransactionManager transactionManager;
+    @Autowired EntityManager em;
+
+    private ParallelCountExecutor parallelCountExecutor;
+    private ExecutorService caller;
+
+    @BeforeEach
+    public void before() {
+        parallelCountExecutor = new ParallelCountExecutor(entityManagerFactory, transactionManager, 1, 10);
+        caller = Executors.newSingleThreadExecutor();
+    }
+
+    @AfterEach
+    public void after() {
+        parallelCountExecutor.shutdown();
+        caller.shutdownNow();
+    }
+
+    @Test
+    public void countRunsOnPoolThread() throws Exception {
+        // given
+        CountDownLatch countStarted = new CountDownLatch(1);
+        AtomicReference<String> countThread = new AtomicReference<>();
+
+        // when
+        // 카운트가 풀 스레드에서 시작될 때까지 컨텐츠 쿼리가 끝나지 않도록 한다.
+        Page<String> page = parallelCountExecutor.getPage(new JPAQueryFactory(em), PageRequest.of(0, 2),
+                factory -> {
+                    await(countStarted);
+                    return Arrays.asList("a", "b");
+                },
+                factory -> {
+                    countThread.set(Thread.currentThread().getName());
+                    countStarted.countDown();
+                    return factory.selectFrom(member);
+                });
+
+        // then
+        assertThat(countThread.get()).startsWith("paging-count-");
+        assertThat(page.getContent()).containsExactly("a", "b");
+    }
+
+    @Test
+    public void callerRunsCountNotYetStarted() throws Exception {
+        // given
+        // 하나뿐인 풀 스레드를 다른 요청의 카운트가 사용중
+        CountDownLatch busy = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        Future<Page<String>> other = caller.submit(() -> parallelCountExecutor.getPage(new JPAQueryFactory(em),
+                PageRequest.of(0, 2),
+                factory -> {
+                    await(busy);
+                    return Arrays.asList("a", "b");
+                },
+                factory -> {
+                    busy.countDown();
+                    await(release);
+                    return factory.selectFrom(member);
+                }));
+        await(busy);
+        AtomicReference<String> countThread = new AtomicReference<>();
+
+        // when
+        // 큐에서 기다리는 카운트는 기다리지 않고 호출 스레드가 직접 실행한다.
+        Page<String> page = parallelCountExecutor.getPage(new JPAQueryFactory(em), PageRequest.of(0, 2),
+                factory -> Arrays.asList("c", "d"),
+                factory -> {
+                    countThread.set(Thread.currentThread().getName());
+                    return factory.selectFrom(member);
+                });
+        release.countDown();
+
+        // then
+        assertThat(countThread.get()).isEqualTo(Thread.currentThread().getName());
+        assertThat(page.getContent()).containsExactly("c", "d");
+        assertThat(other.get(5, TimeUnit.SECONDS).getContent()).containsExactly("a", "b");
+    }
+
+    @Test
+    public void unusedCountIsNotInterrupted() throws Exception {
+        // given
+        CountDownLatch countStarted = new CountDownLatch(1);
+        CountDownLatch countFinished = new CountDownLatch(1);
+        AtomicBoolean interrupted = new AtomicBoolean();
+
+        // when
+        // 마지막 페이지라 카운트가 필요없는 경우
+        Page<String> page = parallelCountExecutor.getPage(new JPAQueryFactory(em), PageRequest.of(0, 2),
+                factory -> {
+                    await(countStarted);
+                    return Collections.singletonList("a");
+                },
+                factory -> {
+                    countStarted.countDown();
+                    try {
+                        Thread.sleep(200);
+                    } catch (InterruptedException e) {
+                        interrupted.set(true);
+                    }
+                    countFinished.countDown();
+                    return factory.selectFrom(member);
+                });
+
+        // then
+        assertThat(page.getTotalElements()).isEqualTo(1);
+        assertThat(countFinished.await(5, TimeUnit.SECONDS)).isTrue();
+        assertThat(interrupted).isFalse();
+    }
+
+    @Test
+    public void countRunsInCallersReadOnlyTransaction() throws Exception {
+        // given
+        // 라우팅 데이터소스는 현재 트랜잭션의 readOnly 여부로 레플리카를 고르므로
+        // 풀 스레드의 카운트도 호출한 쪽처럼 readOnly 트랜잭션 안에서 실행되어야 한다.
+        TransactionTemplate readOnlyTransaction = new TransactionTemplate(transactionManager);
+        readOnlyTransaction.setReadOnly(true);
+        CountDownLatch countStarted = new CountDownLatch(1);
+        AtomicReference<String> countThread = new AtomicReference<>();
+        AtomicBoolean countInTransaction = new AtomicBoolean();
+        AtomicBoolean countReadOnly = new AtomicBoolean();
+
+        // when
+        Page<String> page = readOnlyTransaction.execute(status -> parallelCountExecutor.getPage(
+                new JPAQueryFactory(em), PageRequest.of(0, 2),
+                factory -> {
+                    await(countStarted);
+                    return Arrays.asList("a", "b");
+                },
+                factory -> {
+                    countThread.set(Thread.currentThread().getName());
+                    countInTransaction.set(TransactionSynchronizationManager.isActualTransactionActive());
+                    countReadOnly.set(TransactionSynchronizationManager.isCurrentTransactionReadOnly());
+                    countStarted.countDown();
+                    return factory.selectFrom(member);
+                }));
+
+        // then
+        assertThat(countThread.get()).startsWith("paging-count-");
+        assertThat(countInTransaction).isTrue();
+        assertThat(countReadOnly).isTrue();
+        assertThat(page.getContent()).containsExactly("a", "b");
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            assertThat(latch.await(5, TimeUnit.SECONDS)).isTrue();
+        } catch (InterruptedException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
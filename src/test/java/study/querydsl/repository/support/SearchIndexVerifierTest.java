@@ -0,0 +1,56 @@
+package study.querydsl.repository.support;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import study.querydsl.dto.UsernameMatch;
+
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest(properties = "member.index-check.enabled=true")
+class SearchIndexVerifierTest {
+
+    @Autowired SearchIndexVerifier searchIndexVerifier;
+
+    @Test
+    public void explainsRepositorySql() {
+        Map<String, String> plans = searchIndexVerifier.explainSearchQueries();
+
+        // 하이버네이트가 만든 리포지토리 SQL (팀명 조건이 없으면 left join, 있으면 inner join, 카운트 쿼리 포함)
+        assertThat(plans.keySet()).anyMatch(sql -> sql.contains("left outer join team"));
+        assertThat(plans.keySet()).anyMatch(sql -> sql.contains("inner join team"));
+        assertThat(plans.keySet()).anyMatch(sql -> sql.startsWith("select count("));
+        assertThat(plans.keySet()).noneMatch(sql -> sql.startsWith("/*"));
+        // 접두어/포함 검색의 like, 키셋 페이징의 member.id > ?
+        assertThat(plans.keySet()).anyMatch(sql -> sql.contains(" like "));
+        assertThat(plans.keySet()).anyMatch(sql -> sql.contains("member_id>?"));
+
+        // 포함 검색(like '%..%')은 인덱스를 탈 수 없으므로 그 외의 SQL 만 확인한다.
+        plans.forEach((sql, plan) -> {
+            if (!sql.contains(" like ")) {
+                assertThat(SearchIndexVerifier.scansMember(plan)).as(sql).isFalse();
+            }
+        });
+    }
+
+    @Test
+    public void conditionsCoverUsernameMatches() {
+        // 회원명 조건이 없는 7가지 + 회원명 조건이 있는 8가지 x (EXACT, PREFIX, CONTAINS)
+        assertThat(SearchIndexVerifier.conditions()).hasSize(7 + 8 * 3);
+        assertThat(SearchIndexVerifier.conditions())
+                .filteredOn(condition -> condition.getUsername() != null)
+                .extracting("usernameMatch")
+                .containsOnly(UsernameMatch.EXACT, UsernameMatch.PREFIX, UsernameMatch.CONTAINS);
+    }
+
+    @Test
+    public void teamNameOnlyLeftJoinScansMember() {
+        // 팀명 조건만 있을때 left join 이면 member 부터 읽어야 하므로 풀스캔으로 판단되어야 한다.
+        String plan = searchIndexVerifier.explain("select m.member_id from member m"
+                + " left outer join team t on m.team_id = t.id where t.name = ?");
+
+        assertThat(SearchIndexVerifier.scansMember(plan)).isTrue();
+    }
+}
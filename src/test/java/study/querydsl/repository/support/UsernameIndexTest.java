@@ -0,0 +1,35 @@
+package study.querydsl.repository.support;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class UsernameIndexTest {
+
+    @Test
+    public void prefixAndContains() throws Exception {
+        // given
+        UsernameIndex index = new UsernameIndex();
+        index.put(1L, "member1");
+        index.put(2L, "member2");
+        index.put(3L, "member10");
+        index.put(4L, "admin1");
+
+        // when
+        index.put(2L, "guest2");
+        index.remove(4L);
+
+        // then
+        assertThat(index.size()).isEqualTo(3);
+        assertThat(index.findByPrefix("member1", 10)).hasValueSatisfying(ids -> assertThat(ids).containsOnly(1L, 3L));
+        assertThat(index.findByPrefix("member2", 10)).hasValueSatisfying(ids -> assertThat(ids).isEmpty());
+        assertThat(index.findContaining("est", 10)).hasValueSatisfying(ids -> assertThat(ids).containsOnly(2L));
+        assertThat(index.findContaining("ber1", 10)).hasValueSatisfying(ids -> assertThat(ids).containsOnly(1L, 3L));
+        // 3글자 미만은 인덱스를 사용하지 않는다. (like 조회)
+        assertThat(index.findContaining("1", 10)).isEmpty();
+        assertThat(index.findContaining("er", 10)).isEmpty();
+        assertThat(index.findContaining("min", 10)).hasValueSatisfying(ids -> assertThat(ids).isEmpty());
+        // limit 을 넘으면 인덱스를 사용하지 않는다.
+        assertThat(index.findByPrefix("member", 1)).isEmpty();
+    }
+}